@@ -0,0 +1,28 @@
+package com.trangnx.saver.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BackgroundJobConfig {
+
+    /**
+     * Small dedicated pool so bulk jobs never compete with request threads for more than a few connections
+     */
+    @Bean(name = "backgroundJobExecutor")
+    public ThreadPoolTaskExecutor backgroundJobExecutor(
+            @Value("${jobs.executor.pool-size:2}") int poolSize,
+            @Value("${jobs.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.trangnx.saver.config;
+
+import com.trangnx.saver.service.BudgetAlertSink;
+import com.trangnx.saver.service.LoggingBudgetAlertSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BudgetAlertConfig {
+
+    /**
+     * Fallback sink; declare another BudgetAlertSink bean to deliver alerts elsewhere
+     */
+    @Bean
+    @ConditionalOnMissingBean(BudgetAlertSink.class)
+    public BudgetAlertSink budgetAlertSink() {
+        return new LoggingBudgetAlertSink();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.trangnx.saver.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ChangeStreamConfig {
+
+    /**
+     * Writes to SSE connections, so a slow client never blocks the scheduler or the Redis listener thread
+     */
+    @Bean(name = "changeStreamExecutor")
+    public ThreadPoolTaskExecutor changeStreamExecutor(
+            @Value("${changes.stream.executor.pool-size:4}") int poolSize,
+            @Value("${changes.stream.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sse-");
+        executor.initialize();
+        return executor;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.trangnx.saver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit rules (rate-limit.*). The first rule whose path and method match a request applies;
+ * requests matching no rule use the default rule.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Tokens a node takes from Redis at once, then spends locally without further Redis calls
+    private int leaseSize = 10;
+
+    // A lease never takes more than this share of a rule's capacity; leases the share rounds
+    // down to one token (small buckets such as auth-refresh) are exact per-request checks
+    private double leaseMaxShare = 0.1;
+
+    // Unused leased tokens are dropped after this, so a node can't sit on another node's share
+    private long leaseTtlMs = 1000;
+
+    private List<String> excludePaths = new ArrayList<>();
+
+    private Rule defaultRule = new Rule();
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name = "default";
+        private String path = "/**";
+        // Empty means every method
+        private List<String> methods = new ArrayList<>();
+        private long capacity = 120;
+        private double refillPerSecond = 2;
+        private KeyBy keyBy = KeyBy.USER;
+    }
+
+    public enum KeyBy {
+        // Authenticated user, or client IP for anonymous requests
+        USER,
+        IP
+    }
+}
\ No newline at end of file
@@ -1,14 +1,29 @@
 package com.trangnx.saver.config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
@@ -21,21 +36,89 @@ public class RedisConfig {
     @Value("${spring.data.redis.password}")
     private String redisPassword;
 
-    @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
-        config.setHostName(redisHost);
-        config.setPort(redisPort);
+    // Command timeout: every blacklist/rate-limit check sits on the request thread
+    @Value("${spring.data.redis.timeout:500}")
+    private long commandTimeoutMs;
 
-        if (redisPassword != null && !redisPassword.isEmpty()) {
-            config.setPassword(redisPassword);
-        }
+    @Value("${spring.data.redis.connect-timeout:1000}")
+    private long connectTimeoutMs;
+
+    // host:port of read replicas; empty means standalone
+    @Value("${redis.replica-nodes:}")
+    private List<String> replicaNodes;
+
+    @Value("${redis.read-from:REPLICA_PREFERRED}")
+    private String readFrom;
+
+    /**
+     * Client resources come from Spring Boot, which registers the Micrometer command latency
+     * recorder (lettuce.command.completion / lettuce.command.firstresponse).
+     * Reads may go to replicas when they are configured.
+     */
+    @Bean
+    @Primary
+    public RedisConnectionFactory redisConnectionFactory(ClientResources clientResources) {
+        return connectionFactory(clientResources, replicaNodes.isEmpty() ? null : ReadFrom.valueOf(readFrom));
+    }
 
-        return new LettuceConnectionFactory(config);
+    /**
+     * Always reads from the master. For keys that must never be answered stale: token blacklist,
+     * rate limits and read-your-writes markers, which are written just before they are read.
+     */
+    @Bean
+    public RedisConnectionFactory masterRedisConnectionFactory(ClientResources clientResources) {
+        return connectionFactory(clientResources, replicaNodes.isEmpty() ? null : ReadFrom.UPSTREAM);
     }
 
     @Bean
+    @Primary
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return stringTemplate(connectionFactory);
+    }
+
+    @Bean
+    public RedisTemplate<String, String> masterRedisTemplate(
+            @Qualifier("masterRedisConnectionFactory") RedisConnectionFactory connectionFactory) {
+        return stringTemplate(connectionFactory);
+    }
+
+    /**
+     * Pub/sub subscriptions (analytics cache invalidation and change stream fan-out between nodes)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    private LettuceConnectionFactory connectionFactory(ClientResources clientResources, ReadFrom readFrom) {
+        ClientOptions clientOptions = ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP3)
+                .socketOptions(SocketOptions.builder()
+                        .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                        .keepAlive(true)
+                        .build())
+                .timeoutOptions(TimeoutOptions.enabled(Duration.ofMillis(commandTimeoutMs)))
+                // Fail fast while reconnecting instead of queueing requests behind the outage
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build();
+
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfig = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .clientOptions(clientOptions)
+                .commandTimeout(Duration.ofMillis(commandTimeoutMs));
+        if (readFrom != null) {
+            clientConfig.readFrom(readFrom);
+        }
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(serverConfiguration(), clientConfig.build());
+        // One multiplexed connection for all threads: concurrent commands are pipelined on it
+        factory.setShareNativeConnection(true);
+        return factory;
+    }
+
+    private RedisTemplate<String, String> stringTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, String> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
@@ -45,4 +128,26 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    private RedisConfiguration serverConfiguration() {
+        if (replicaNodes.isEmpty()) {
+            RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
+            config.setHostName(redisHost);
+            config.setPort(redisPort);
+            if (redisPassword != null && !redisPassword.isEmpty()) {
+                config.setPassword(redisPassword);
+            }
+            return config;
+        }
+
+        RedisStaticMasterReplicaConfiguration config = new RedisStaticMasterReplicaConfiguration(redisHost, redisPort);
+        for (String node : replicaNodes) {
+            String[] hostAndPort = node.trim().split(":");
+            config.addNode(hostAndPort[0], Integer.parseInt(hostAndPort[1]));
+        }
+        if (redisPassword != null && !redisPassword.isEmpty()) {
+            config.setPassword(redisPassword);
+        }
+        return config;
+    }
 }
\ No newline at end of file
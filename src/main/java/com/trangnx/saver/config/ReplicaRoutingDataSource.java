@@ -0,0 +1,51 @@
+package com.trangnx.saver.config;
+
+import com.trangnx.saver.security.CustomUserDetails;
+import com.trangnx.saver.service.ReadYourWritesTracker;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy, so the connection is picked once the
+ * transaction's read-only flag is known. Recent writers are recorded by
+ * {@link WriteTrackingStatementInspector}, only for transactions that actually wrote.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+
+        // Read-your-writes: right after their own write a user reads from the primary
+        Long userId = currentUserId();
+        if (userId != null && readYourWritesTracker.recentlyWrote(userId)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -19,23 +19,29 @@ public class ResponseLoggingFilter implements Filter {
             throws IOException, ServletException {
 
         HttpServletRequest httpRequest = (HttpServletRequest) request;
+
+        // Only /api/auth/google is logged; buffering every other body would defeat
+        // streaming and response compression
+        if (!httpRequest.getRequestURI().contains("/api/auth/google")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
         ContentCachingResponseWrapper responseWrapper =
                 new ContentCachingResponseWrapper((HttpServletResponse) response);
 
         chain.doFilter(request, responseWrapper);
 
         // Log response for /api/auth/google endpoint
-        if (httpRequest.getRequestURI().contains("/api/auth/google")) {
-            byte[] content = responseWrapper.getContentAsByteArray();
-            if (content.length > 0) {
-                String responseBody = new String(content, responseWrapper.getCharacterEncoding());
-                System.out.println("=== RESPONSE DEBUG ===");
-                System.out.println("URI: " + httpRequest.getRequestURI());
-                System.out.println("Status: " + responseWrapper.getStatus());
-                System.out.println("Content-Type: " + responseWrapper.getContentType());
-                System.out.println("Body: " + responseBody);
-                System.out.println("======================");
-            }
+        byte[] content = responseWrapper.getContentAsByteArray();
+        if (content.length > 0) {
+            String responseBody = new String(content, responseWrapper.getCharacterEncoding());
+            System.out.println("=== RESPONSE DEBUG ===");
+            System.out.println("URI: " + httpRequest.getRequestURI());
+            System.out.println("Status: " + responseWrapper.getStatus());
+            System.out.println("Content-Type: " + responseWrapper.getContentType());
+            System.out.println("Body: " + responseBody);
+            System.out.println("======================");
         }
 
         responseWrapper.copyBodyToResponse();
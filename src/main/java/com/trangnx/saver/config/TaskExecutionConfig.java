@@ -0,0 +1,31 @@
+package com.trangnx.saver.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class TaskExecutionConfig {
+
+    /**
+     * Boot only auto-configures applicationTaskExecutor when no other Executor bean exists. The
+     * feature pools (e.g. backgroundJobExecutor) would otherwise leave MVC async request processing
+     * on an unbounded SimpleAsyncTaskExecutor, so the default executor is declared here, bounded.
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${spring.task.execution.pool.core-size:8}") int corePoolSize,
+            @Value("${spring.task.execution.pool.max-size:32}") int maxPoolSize,
+            @Value("${spring.task.execution.pool.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("task-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
\ No newline at end of file
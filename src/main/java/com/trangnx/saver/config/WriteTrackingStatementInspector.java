@@ -0,0 +1,68 @@
+package com.trangnx.saver.config;
+
+import com.trangnx.saver.service.ReadYourWritesTracker;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+
+/**
+ * Sees every SQL statement Hibernate sends (entity flushes and native queries alike) and, on the
+ * first one that is not a plain SELECT, marks the current user as a recent writer once the
+ * transaction commits. Transactions that only read never push the user off the replica.
+ */
+public class WriteTrackingStatementInspector implements StatementInspector {
+
+    private static final String WRITE_MARKER = WriteTrackingStatementInspector.class.getName() + ".WRITE_MARKER";
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public WriteTrackingStatementInspector(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (isWrite(sql)) {
+            Long userId = ReplicaRoutingDataSource.currentUserId();
+            if (userId != null) {
+                markWriteOnCommit(userId);
+            }
+        }
+        return sql;
+    }
+
+    // Anything but SELECT counts, including CTEs, which may hide an INSERT/UPDATE/DELETE
+    static boolean isWrite(String sql) {
+        String statement = sql.stripLeading();
+        // Hibernate's optional SQL comments come first
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end < 0) {
+                return true;
+            }
+            statement = statement.substring(end + 2).stripLeading();
+        }
+        return !statement.toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private void markWriteOnCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.markWrite(userId);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+            }
+        });
+    }
+}
\ No newline at end of file
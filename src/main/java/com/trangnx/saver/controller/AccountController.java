@@ -2,16 +2,25 @@ package com.trangnx.saver.controller;
 
 import com.trangnx.saver.dto.AccountDTO;
 import com.trangnx.saver.dto.ApiResponse;
+import com.trangnx.saver.dto.BackgroundJobDTO;
+import com.trangnx.saver.dto.BalancePointDTO;
+import com.trangnx.saver.entity.BackgroundJob;
 import com.trangnx.saver.service.AccountService;
+import com.trangnx.saver.service.BalanceHistoryService;
+import com.trangnx.saver.service.BulkDeleteService;
 import com.trangnx.saver.util.AuthenticationHelper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -21,17 +30,29 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BulkDeleteService bulkDeleteService;
+    private final BalanceHistoryService balanceHistoryService;
 
     @GetMapping
     @Operation(
             summary = "Get all accounts",
-            description = "Get all accounts for authenticated user, sorted by default first",
+            description = "Get all accounts for authenticated user, sorted by default first. Supports If-None-Match (weak ETag)",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseEntity<ApiResponse<List<AccountDTO>>> getAllAccounts() {
+    public ResponseEntity<ApiResponse<List<AccountDTO>>> getAllAccounts(WebRequest webRequest) {
         Long userId = AuthenticationHelper.getCurrentUserId();
+
+        // Answer 304 from the list fingerprint before loading any entities
+        String eTag = accountService.getAccountsETag(userId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<AccountDTO> accounts = accountService.getAllAccounts(userId);
-        return ResponseEntity.ok(ApiResponse.success(accounts));
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(accounts));
     }
 
     @GetMapping("/{id}")
@@ -45,6 +66,20 @@ public class AccountController {
         return ResponseEntity.ok(ApiResponse.success(account));
     }
 
+    @GetMapping("/{id}/balance-history")
+    @Operation(
+            summary = "Get account balance history",
+            description = "Get the balance at the start of a date range and at the end of each day in it with transactions",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<BalancePointDTO>>> getBalanceHistory(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<BalancePointDTO> history = balanceHistoryService.getBalanceHistory(id, startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+
     @PostMapping
     @Operation(
             summary = "Create new account",
@@ -74,11 +109,24 @@ public class AccountController {
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Delete account",
-            description = "Delete an account",
+            description = "Delete an account. If it has transactions, strategy is required: REASSIGN moves them to " +
+                    "reassignTo, CASCADE deletes them. Large deletions run in the background (202) - poll /api/jobs/{jobId}",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseEntity<ApiResponse<Void>> deleteAccount(@PathVariable Long id) {
-        accountService.deleteAccount(id);
-        return ResponseEntity.ok(ApiResponse.success("Account deleted successfully"));
+    public ResponseEntity<ApiResponse<BackgroundJobDTO>> deleteAccount(
+            @PathVariable Long id,
+            @RequestParam(required = false) BulkDeleteService.DeleteStrategy strategy,
+            @RequestParam(required = false) Long reassignTo) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        BackgroundJobDTO job = bulkDeleteService.deleteAccount(userId, id, strategy, reassignTo);
+
+        if (BackgroundJob.JobStatus.COMPLETED.name().equals(job.getStatus())) {
+            return ResponseEntity.ok(ApiResponse.success("Account deleted successfully", job));
+        }
+        if (BackgroundJob.JobStatus.FAILED.name().equals(job.getStatus())) {
+            throw new RuntimeException("Account deletion failed: " + job.getErrorMessage());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Account deletion started", job));
     }
 }
\ No newline at end of file
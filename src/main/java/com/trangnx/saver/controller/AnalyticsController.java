@@ -0,0 +1,72 @@
+package com.trangnx.saver.controller;
+
+import com.trangnx.saver.dto.AnalyticsSummaryDTO;
+import com.trangnx.saver.dto.ApiResponse;
+import com.trangnx.saver.dto.SpendingSeriesPointDTO;
+import com.trangnx.saver.entity.Transaction;
+import com.trangnx.saver.service.AnalyticsService;
+import com.trangnx.saver.util.AuthenticationHelper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Spending aggregates for dashboards and charts")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/summary")
+    @Operation(
+            summary = "Get spending summary",
+            description = "Get income/expense totals for a date range, broken down by category and by account",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<AnalyticsSummaryDTO>> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        AnalyticsSummaryDTO summary = analyticsService.getSummary(userId, startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
+
+    @GetMapping("/series")
+    @Operation(
+            summary = "Get spending time series",
+            description = "Get income/expense per DAY, WEEK, MONTH or YEAR for a date range",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<SpendingSeriesPointDTO>>> getTimeSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "MONTH") AnalyticsService.Granularity granularity) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        List<SpendingSeriesPointDTO> series = analyticsService.getTimeSeries(userId, startDate, endDate, granularity);
+        return ResponseEntity.ok(ApiResponse.success(series));
+    }
+
+    @GetMapping("/top-categories")
+    @Operation(
+            summary = "Get top categories",
+            description = "Get the categories with the highest totals for a date range (expense by default)",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<AnalyticsSummaryDTO.Breakdown>>> getTopCategories(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "EXPENSE") Transaction.TransactionType type,
+            @RequestParam(defaultValue = "5") int limit) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        List<AnalyticsSummaryDTO.Breakdown> top = analyticsService.getTopCategories(userId, startDate, endDate, type, limit);
+        return ResponseEntity.ok(ApiResponse.success(top));
+    }
+}
\ No newline at end of file
@@ -2,14 +2,19 @@ package com.trangnx.saver.controller;
 
 import com.trangnx.saver.dto.ApiResponse;
 import com.trangnx.saver.dto.AuthResponse;
+import com.trangnx.saver.dto.BackgroundJobDTO;
 import com.trangnx.saver.dto.GoogleLoginRequest;
 import com.trangnx.saver.entity.User;
+import com.trangnx.saver.exception.InvalidTokenException;
 import com.trangnx.saver.exception.ResourceNotFoundException;
 import com.trangnx.saver.repository.UserRepository;
 import com.trangnx.saver.security.CustomUserDetails;
 import com.trangnx.saver.security.JwtService;
 import com.trangnx.saver.service.GoogleTokenVerificationService;
+import com.trangnx.saver.service.RefreshTokenService;
 import com.trangnx.saver.service.TokenBlacklistService;
+import com.trangnx.saver.service.UserPurgeService;
+import com.trangnx.saver.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,6 +36,9 @@ public class AuthController {
     private final JwtService jwtService;
     private final TokenBlacklistService tokenBlacklistService;
     private final GoogleTokenVerificationService googleTokenVerificationService;
+    private final RefreshTokenService refreshTokenService;
+    private final UserPurgeService userPurgeService;
+    private final UserService userService;
 
     @GetMapping("/me")
     @Operation(
@@ -105,26 +113,14 @@ public class AuthController {
             System.out.println("DEBUG: User info extracted - Email: " + googleUserInfo.getEmail() +
                     ", Name: " + googleUserInfo.getName());
 
-            // Find or create user
-            User user = userRepository.findByEmail(googleUserInfo.getEmail())
-                    .orElseGet(() -> {
-                        System.out.println("DEBUG: Creating new user for email: " + googleUserInfo.getEmail());
-                        User newUser = User.builder()
-                                .email(googleUserInfo.getEmail())
-                                .fullName(googleUserInfo.getName())
-                                .googleId(googleUserInfo.getGoogleId())
-                                .avatarUrl(googleUserInfo.getPictureUrl())
-                                .provider(User.AuthProvider.GOOGLE)
-                                .isActive(true)
-                                .build();
-                        return userRepository.save(newUser);
-                    });
+            // Find or create user (new users get the default categories and account)
+            User user = userService.findOrCreateGoogleUser(googleUserInfo);
 
             System.out.println("DEBUG: User found/created - ID: " + user.getId() + ", Email: " + user.getEmail());
 
             // Generate JWT tokens
             String accessToken = jwtService.generateAccessToken(user.getEmail(), user.getId());
-            String refreshToken = jwtService.generateRefreshToken(user.getEmail(), user.getId());
+            String refreshToken = refreshTokenService.issue(user);
             Long expiresIn = jwtService.getAccessTokenExpiration() / 1000; // seconds
 
             System.out.println("DEBUG: Tokens generated - Access token length: " + accessToken.length() +
@@ -170,7 +166,8 @@ public class AuthController {
     @PostMapping("/refresh")
     @Operation(
             summary = "Refresh access token",
-            description = "Get new access token using refresh token"
+            description = "Get new access and refresh tokens using a refresh token. Each refresh token works once; " +
+                    "reusing a rotated one revokes the whole login"
     )
     public ResponseEntity<ApiResponse<AuthResponse>> refreshToken(@RequestBody RefreshTokenRequest request) {
         try {
@@ -181,39 +178,23 @@ public class AuthController {
                         .body(ApiResponse.error("Refresh token is required", "INVALID_REQUEST"));
             }
 
-            if (tokenBlacklistService.isBlacklisted(refreshToken)) {
-                return ResponseEntity.status(401)
-                        .body(ApiResponse.error("Refresh token has been revoked", "TOKEN_REVOKED"));
-            }
-
             if (!jwtService.isRefreshToken(refreshToken)) {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("Invalid token type. Expected refresh token", "INVALID_TOKEN_TYPE"));
             }
 
-            String email = jwtService.extractEmail(refreshToken);
-            Long userId = jwtService.extractUserId(refreshToken);
+            // Single use: the presented token is consumed and a successor is returned
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+            User user = rotation.user();
+            String email = user.getEmail();
 
-            if (!jwtService.validateToken(refreshToken, email)) {
-                return ResponseEntity.status(401)
-                        .body(ApiResponse.error("Invalid or expired refresh token", "TOKEN_EXPIRED"));
-            }
-
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
-
-            if (!user.getIsActive()) {
-                return ResponseEntity.status(401)
-                        .body(ApiResponse.error("User account is not active", "ACCOUNT_INACTIVE"));
-            }
-
-            String newAccessToken = jwtService.generateAccessToken(email, userId);
+            String newAccessToken = jwtService.generateAccessToken(email, user.getId());
             Long expiresIn = jwtService.getAccessTokenExpiration() / 1000;
 
             AuthResponse authResponse = AuthResponse.builder()
                     .accessToken(newAccessToken)
-                    .refreshToken(refreshToken)
-                    .userId(userId)
+                    .refreshToken(rotation.refreshToken())
+                    .userId(user.getId())
                     .email(email)
                     .fullName(user.getFullName())
                     .avatarUrl(user.getAvatarUrl())
@@ -224,9 +205,9 @@ public class AuthController {
 
             return ResponseEntity.ok(ApiResponse.success("Token refreshed successfully", authResponse));
 
-        } catch (ResourceNotFoundException e) {
-            return ResponseEntity.status(404)
-                    .body(ApiResponse.error(e.getMessage(), "RESOURCE_NOT_FOUND"));
+        } catch (InvalidTokenException e) {
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.error(e.getMessage(), "TOKEN_REVOKED"));
         } catch (Exception e) {
             return ResponseEntity.status(401)
                     .body(ApiResponse.error("Token refresh failed: " + e.getMessage(), "AUTH_ERROR"));
@@ -264,9 +245,9 @@ public class AuthController {
             // Blacklist access token
             tokenBlacklistService.blacklistToken(accessToken);
 
-            // Blacklist refresh token if provided
+            // Revoke the refresh token's family if provided
             if (logoutRequest != null && logoutRequest.refreshToken() != null) {
-                tokenBlacklistService.blacklistToken(logoutRequest.refreshToken());
+                refreshTokenService.revoke(logoutRequest.refreshToken());
             }
 
             // Clear security context
@@ -306,6 +287,23 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/purge-status")
+    @Operation(
+            summary = "Get purge status",
+            description = "Get progress of a data purge using the status token returned when it was requested. " +
+                    "Needs no access token, since a purged user is deactivated"
+    )
+    public ResponseEntity<ApiResponse<BackgroundJobDTO>> getPurgeStatus(
+            @RequestHeader("X-Purge-Status-Token") String statusToken) {
+        try {
+            BackgroundJobDTO job = userPurgeService.getPurgeStatusByToken(statusToken);
+            return ResponseEntity.ok(ApiResponse.success(job));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404)
+                    .body(ApiResponse.error("Purge not found", "NOT_FOUND"));
+        }
+    }
+
     // Request/Response records
     private record RefreshTokenRequest(String refreshToken) {}
 
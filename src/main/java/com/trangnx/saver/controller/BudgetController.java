@@ -0,0 +1,96 @@
+package com.trangnx.saver.controller;
+
+import com.trangnx.saver.dto.ApiResponse;
+import com.trangnx.saver.dto.BudgetDTO;
+import com.trangnx.saver.service.BudgetService;
+import com.trangnx.saver.util.AuthenticationHelper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+@RequiredArgsConstructor
+@Tag(name = "Budgets", description = "Budget management and spending usage endpoints")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    @GetMapping
+    @Operation(
+            summary = "Get all budgets",
+            description = "Get all budgets for authenticated user, newest period first",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<BudgetDTO>>> getAllBudgets() {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        List<BudgetDTO> budgets = budgetService.getAllBudgets(userId);
+        return ResponseEntity.ok(ApiResponse.success(budgets));
+    }
+
+    @GetMapping("/usage")
+    @Operation(
+            summary = "Get current budget usage",
+            description = "Get spending usage of active budgets covering today, most used first",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<BudgetDTO>>> getCurrentUsage() {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        List<BudgetDTO> budgets = budgetService.getCurrentUsage(userId);
+        return ResponseEntity.ok(ApiResponse.success(budgets));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Get budget by ID",
+            description = "Get a specific budget with its current usage",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<BudgetDTO>> getBudgetById(@PathVariable Long id) {
+        BudgetDTO budget = budgetService.getBudgetById(id);
+        return ResponseEntity.ok(ApiResponse.success(budget));
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Create budget",
+            description = "Create a budget for one expense category (or all when categoryId is omitted)",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<BudgetDTO>> createBudget(@RequestBody BudgetDTO budgetDTO) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        BudgetDTO created = budgetService.createBudget(userId, budgetDTO);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Budget created successfully", created));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(
+            summary = "Update budget",
+            description = "Update an existing budget",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<BudgetDTO>> updateBudget(
+            @PathVariable Long id,
+            @RequestBody BudgetDTO budgetDTO) {
+        BudgetDTO updated = budgetService.updateBudget(id, budgetDTO);
+        return ResponseEntity.ok(ApiResponse.success("Budget updated successfully", updated));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(
+            summary = "Delete budget",
+            description = "Delete a budget",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<Void>> deleteBudget(@PathVariable Long id) {
+        budgetService.deleteBudget(id);
+        return ResponseEntity.ok(ApiResponse.success("Budget deleted successfully"));
+    }
+}
\ No newline at end of file
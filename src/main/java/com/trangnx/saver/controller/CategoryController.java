@@ -1,19 +1,24 @@
 package com.trangnx.saver.controller;
 
 import com.trangnx.saver.dto.ApiResponse;
+import com.trangnx.saver.dto.BackgroundJobDTO;
 import com.trangnx.saver.dto.CategoryDTO;
+import com.trangnx.saver.entity.BackgroundJob;
 import com.trangnx.saver.security.CustomUserDetails;
+import com.trangnx.saver.service.BulkDeleteService;
 import com.trangnx.saver.service.CategoryService;
 import com.trangnx.saver.util.AuthenticationHelper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,17 +29,28 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final BulkDeleteService bulkDeleteService;
 
     @GetMapping
     @Operation(
             summary = "Get all categories",
-            description = "Get all categories for authenticated user",
+            description = "Get all categories for authenticated user. Supports If-None-Match (weak ETag)",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getAllCategories() {
+    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getAllCategories(WebRequest webRequest) {
         Long userId = AuthenticationHelper.getCurrentUserId();
+
+        // Answer 304 from the list fingerprint before loading any entities
+        String eTag = categoryService.getCategoriesETag(userId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<CategoryDTO> categories = categoryService.getAllCategories(userId);
-        return ResponseEntity.ok(ApiResponse.success(categories));
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(categories));
     }
 
     @GetMapping("/{id}")
@@ -64,11 +80,24 @@ public class CategoryController {
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Delete category",
-            description = "Delete a category",
+            description = "Delete a category. If it has transactions, strategy is required: REASSIGN moves them to " +
+                    "reassignTo, CASCADE deletes them. Large deletions run in the background (202) - poll /api/jobs/{jobId}",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseEntity<ApiResponse<Void>> deleteCategory(@PathVariable Long id) {
-        categoryService.deleteCategory(id);
-        return ResponseEntity.ok(ApiResponse.success("Category deleted successfully"));
+    public ResponseEntity<ApiResponse<BackgroundJobDTO>> deleteCategory(
+            @PathVariable Long id,
+            @RequestParam(required = false) BulkDeleteService.DeleteStrategy strategy,
+            @RequestParam(required = false) Long reassignTo) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        BackgroundJobDTO job = bulkDeleteService.deleteCategory(userId, id, strategy, reassignTo);
+
+        if (BackgroundJob.JobStatus.COMPLETED.name().equals(job.getStatus())) {
+            return ResponseEntity.ok(ApiResponse.success("Category deleted successfully", job));
+        }
+        if (BackgroundJob.JobStatus.FAILED.name().equals(job.getStatus())) {
+            throw new RuntimeException("Category deletion failed: " + job.getErrorMessage());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Category deletion started", job));
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.trangnx.saver.controller;
+
+import com.trangnx.saver.service.ChangeStreamService;
+import com.trangnx.saver.util.AuthenticationHelper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Changes", description = "Live transaction and balance change notifications")
+public class ChangeStreamController {
+
+    private final ChangeStreamService changeStreamService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream changes",
+            description = "Server-sent events for authenticated user: 'transaction' when a transaction is created, " +
+                    "updated or deleted on any device, and 'balance' with the account's new balance. " +
+                    "Replaces polling /api/accounts and /api/transactions.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public SseEmitter streamChanges() {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        return changeStreamService.openStream(userId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.trangnx.saver.controller;
+
+import com.trangnx.saver.dto.ApiResponse;
+import com.trangnx.saver.dto.BackgroundJobDTO;
+import com.trangnx.saver.service.BackgroundJobService;
+import com.trangnx.saver.util.AuthenticationHelper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Jobs", description = "Progress of background bulk operations")
+public class JobController {
+
+    private final BackgroundJobService backgroundJobService;
+
+    @GetMapping
+    @Operation(
+            summary = "Get recent jobs",
+            description = "Get the 20 most recent background jobs of authenticated user",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<BackgroundJobDTO>>> getRecentJobs() {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        List<BackgroundJobDTO> jobs = backgroundJobService.getRecentJobs(userId);
+        return ResponseEntity.ok(ApiResponse.success(jobs));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Get job status",
+            description = "Get status and progress of a background job",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<BackgroundJobDTO>> getJob(@PathVariable Long id) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        BackgroundJobDTO job = backgroundJobService.getJob(userId, id);
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.trangnx.saver.controller;
+
+import com.trangnx.saver.dto.ApiResponse;
+import com.trangnx.saver.dto.RecurringTransactionDTO;
+import com.trangnx.saver.service.RecurringTransactionService;
+import com.trangnx.saver.util.AuthenticationHelper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@RequiredArgsConstructor
+@Tag(name = "Recurring Transactions", description = "Scheduled transactions such as subscriptions and salaries")
+public class RecurringTransactionController {
+
+    private final RecurringTransactionService recurringTransactionService;
+
+    @GetMapping
+    @Operation(
+            summary = "Get all recurring transactions",
+            description = "Get all recurring transactions for authenticated user, next due first",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<RecurringTransactionDTO>>> getAllRecurringTransactions() {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        List<RecurringTransactionDTO> recurring = recurringTransactionService.getAllRecurringTransactions(userId);
+        return ResponseEntity.ok(ApiResponse.success(recurring));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Get recurring transaction by ID",
+            description = "Get a specific recurring transaction by its ID",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<RecurringTransactionDTO>> getRecurringTransactionById(@PathVariable Long id) {
+        RecurringTransactionDTO recurring = recurringTransactionService.getRecurringTransactionById(id);
+        return ResponseEntity.ok(ApiResponse.success(recurring));
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Create recurring transaction",
+            description = "Schedule a transaction to post automatically (DAILY, WEEKLY, MONTHLY, YEARLY)",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<RecurringTransactionDTO>> createRecurringTransaction(
+            @RequestBody RecurringTransactionDTO recurringTransactionDTO) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        RecurringTransactionDTO created = recurringTransactionService.createRecurringTransaction(userId, recurringTransactionDTO);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Recurring transaction created successfully", created));
+    }
+
+    @PostMapping("/{id}/pause")
+    @Operation(
+            summary = "Pause recurring transaction",
+            description = "Stop posting a recurring transaction until resumed",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<RecurringTransactionDTO>> pauseRecurringTransaction(@PathVariable Long id) {
+        RecurringTransactionDTO updated = recurringTransactionService.setActive(id, false);
+        return ResponseEntity.ok(ApiResponse.success("Recurring transaction paused", updated));
+    }
+
+    @PostMapping("/{id}/resume")
+    @Operation(
+            summary = "Resume recurring transaction",
+            description = "Resume a paused recurring transaction; missed occurrences are caught up",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<RecurringTransactionDTO>> resumeRecurringTransaction(@PathVariable Long id) {
+        RecurringTransactionDTO updated = recurringTransactionService.setActive(id, true);
+        return ResponseEntity.ok(ApiResponse.success("Recurring transaction resumed", updated));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(
+            summary = "Delete recurring transaction",
+            description = "Delete a recurring transaction; already posted transactions are kept",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<Void>> deleteRecurringTransaction(@PathVariable Long id) {
+        recurringTransactionService.deleteRecurringTransaction(id);
+        return ResponseEntity.ok(ApiResponse.success("Recurring transaction deleted successfully"));
+    }
+}
\ No newline at end of file
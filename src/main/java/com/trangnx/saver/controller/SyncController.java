@@ -0,0 +1,38 @@
+package com.trangnx.saver.controller;
+
+import com.trangnx.saver.dto.ApiResponse;
+import com.trangnx.saver.dto.SyncResponseDTO;
+import com.trangnx.saver.service.SyncService;
+import com.trangnx.saver.util.AuthenticationHelper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Delta sync endpoints for offline-first clients")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    @Operation(
+            summary = "Get changes since watermark",
+            description = "Get accounts, categories and transactions changed since the given watermark, plus deleted ids. " +
+                    "Omit 'since' on first sync to receive a full snapshot.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<SyncResponseDTO>> sync(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        SyncResponseDTO changes = syncService.getChanges(userId, since);
+        return ResponseEntity.ok(ApiResponse.success(changes));
+    }
+}
\ No newline at end of file
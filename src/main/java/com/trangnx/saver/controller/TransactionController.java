@@ -1,7 +1,11 @@
 package com.trangnx.saver.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.trangnx.saver.dto.ApiResponse;
+import com.trangnx.saver.dto.TagSummaryDTO;
 import com.trangnx.saver.dto.TransactionDTO;
+import com.trangnx.saver.dto.TransactionSearchResultDTO;
+import com.trangnx.saver.service.TagService;
 import com.trangnx.saver.service.TransactionService;
 import com.trangnx.saver.util.AuthenticationHelper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,10 +13,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -24,17 +34,33 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TagService tagService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @Operation(
             summary = "Get all transactions",
-            description = "Get all transactions for authenticated user",
+            description = "Get all transactions for authenticated user, optionally only those with a tag. Supports If-None-Match (weak ETag)",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    public ResponseEntity<ApiResponse<List<TransactionDTO>>> getAllTransactions() {
+    public ResponseEntity<ApiResponse<List<TransactionDTO>>> getAllTransactions(
+            @RequestParam(required = false) String tag,
+            WebRequest webRequest) {
         Long userId = AuthenticationHelper.getCurrentUserId();
-        List<TransactionDTO> transactions = transactionService.getAllTransactions(userId);
-        return ResponseEntity.ok(ApiResponse.success(transactions));
+
+        // Answer 304 from the list fingerprint before loading any entities
+        String eTag = transactionService.getTransactionsETag(userId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        List<TransactionDTO> transactions = tag != null
+                ? transactionService.getTransactionsByTag(userId, tag)
+                : transactionService.getAllTransactions(userId);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(transactions));
     }
 
     @GetMapping("/range")
@@ -51,6 +77,48 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success(transactions));
     }
 
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @Operation(
+            summary = "Stream transactions",
+            description = "Stream all transactions (or a date range) for authenticated user as newline-delimited JSON, " +
+                    "newest first. Rows are read and written a page at a time, for exports and large lists.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> streamTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        // Resolve the user on the request thread; the body is written on an async thread
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        StreamingResponseBody body = outputStream -> transactionService.streamTransactions(userId, startDate, endDate, transaction -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(transaction));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                // Client went away: stop paging
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search transactions",
+            description = "Full-text search over description and notes for authenticated user, most relevant first. " +
+                    "Pass nextCursor back as 'cursor' to get the next page.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<TransactionSearchResultDTO>> searchTransactions(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        TransactionSearchResultDTO result = transactionService.searchTransactions(userId, q, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Get transaction by ID",
@@ -75,6 +143,33 @@ public class TransactionController {
                 .body(ApiResponse.success("Transaction created successfully", created));
     }
 
+    @PutMapping("/{id}")
+    @Operation(
+            summary = "Replace transaction",
+            description = "Replace all fields of a transaction; balances, budgets and history are adjusted by the difference. " +
+                    "Send the version you last read to get 409 if another device changed it meanwhile.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<TransactionDTO>> updateTransaction(
+            @PathVariable Long id,
+            @RequestBody TransactionDTO transactionDTO) {
+        TransactionDTO updated = transactionService.updateTransaction(id, transactionDTO, false);
+        return ResponseEntity.ok(ApiResponse.success("Transaction updated successfully", updated));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Patch transaction",
+            description = "Update only the fields that are present; balances, budgets and history are adjusted by the difference",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<TransactionDTO>> patchTransaction(
+            @PathVariable Long id,
+            @RequestBody TransactionDTO transactionDTO) {
+        TransactionDTO updated = transactionService.updateTransaction(id, transactionDTO, true);
+        return ResponseEntity.ok(ApiResponse.success("Transaction updated successfully", updated));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Delete transaction",
@@ -113,4 +208,19 @@ public class TransactionController {
         BigDecimal total = transactionService.getTotalExpense(userId, startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(total));
     }
+
+    @GetMapping("/tags/summary")
+    @Operation(
+            summary = "Get spending per tag",
+            description = "Get income/expense totals per tag for a date range, or for a single tag",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<List<TagSummaryDTO>>> getTagSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String tag) {
+        Long userId = AuthenticationHelper.getCurrentUserId();
+        List<TagSummaryDTO> summary = tagService.getTagSummary(userId, startDate, endDate, tag);
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
 }
\ No newline at end of file
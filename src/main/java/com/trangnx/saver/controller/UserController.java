@@ -1,12 +1,17 @@
 package com.trangnx.saver.controller;
 
+import com.trangnx.saver.dto.BackgroundJobDTO;
 import com.trangnx.saver.dto.UserDTO;
 import com.trangnx.saver.dto.UserStatsDTO;
+import com.trangnx.saver.service.UserPurgeService;
 import com.trangnx.saver.service.UserService;
+import com.trangnx.saver.util.AuthenticationHelper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserPurgeService userPurgeService;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Get user profile information")
@@ -60,4 +66,25 @@ public class UserController {
         UserStatsDTO stats = userService.getUserStats(id);
         return ResponseEntity.ok(stats);
     }
+
+    @PostMapping("/{id}/purge")
+    @Operation(summary = "Purge user data", description = "Deactivate the user and permanently delete all of their data in the background. " +
+            "The response carries a status token for GET /api/auth/purge-status, since the user's access tokens stop working")
+    public ResponseEntity<BackgroundJobDTO> purgeUser(@PathVariable Long id) {
+        if (!id.equals(AuthenticationHelper.getCurrentUserId())) {
+            throw new AccessDeniedException("Users can only purge their own data");
+        }
+        BackgroundJobDTO job = userPurgeService.requestPurge(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/{id}/purge")
+    @Operation(summary = "Get purge status", description = "Get progress of the latest data purge of a user")
+    public ResponseEntity<BackgroundJobDTO> getPurgeStatus(@PathVariable Long id) {
+        if (!id.equals(AuthenticationHelper.getCurrentUserId())) {
+            throw new AccessDeniedException("Users can only view their own purge status");
+        }
+        BackgroundJobDTO job = userPurgeService.getPurgeStatus(id);
+        return ResponseEntity.ok(job);
+    }
 }
\ No newline at end of file
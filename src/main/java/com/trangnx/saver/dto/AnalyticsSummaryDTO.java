@@ -0,0 +1,41 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSummaryDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String currency; // user's base currency; every total below is converted to it
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    // Amounts per currency with no known rate to currency, not included in the totals
+    private Map<String, BigDecimal> unconvertedIncome;
+    private Map<String, BigDecimal> unconvertedExpense;
+    private Long transactionsCount;
+    private List<Breakdown> byCategory;
+    private List<Breakdown> byAccount;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Breakdown {
+        private Long id;
+        private String name;
+        private String type; // INCOME or EXPENSE
+        private BigDecimal total;
+        private Long count;
+    }
+}
\ No newline at end of file
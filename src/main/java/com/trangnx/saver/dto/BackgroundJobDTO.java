@@ -0,0 +1,29 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackgroundJobDTO {
+    private Long id;
+    private String type;
+    private String status;
+    private Long targetId;
+    private Long totalItems;
+    private Long processedItems;
+    private Integer progressPercent;
+    private String checkpoint;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Only returned when the token is issued (purge request)
+    private String statusToken;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancePointDTO {
+    private LocalDate date;
+    private BigDecimal balance;
+    private BigDecimal netChange;
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDTO {
+    private Long id;
+    private String name;
+    private Long categoryId; // null = all expense categories
+    private String categoryName;
+    private BigDecimal amount;
+    private String period; // DAILY, WEEKLY, MONTHLY, YEARLY, CUSTOM
+    private LocalDate startDate;
+    private LocalDate endDate; // derived from period when omitted
+    private Integer alertThreshold; // percent of amount
+    private Boolean isActive;
+
+    // Usage (read-only)
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private BigDecimal usagePercent;
+    private Boolean alertTriggered;
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A committed transaction change, as fanned out to every node over Redis pub/sub
+ * and pushed to the user's open change streams
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDTO {
+    private Long userId;
+    private Long transactionId;
+    private Long accountId;
+    private BigDecimal accountBalance;
+    private String changeType;
+    // Account the transaction was moved away from, if any
+    private Long previousAccountId;
+    private BigDecimal previousAccountBalance;
+    private LocalDateTime occurredAt;
+}
\ No newline at end of file
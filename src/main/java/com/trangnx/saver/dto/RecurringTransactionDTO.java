@@ -0,0 +1,31 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionDTO {
+    private Long id;
+    private Long accountId;
+    private String accountName;
+    private Long categoryId;
+    private String categoryName;
+    private String type; // INCOME or EXPENSE
+    private BigDecimal amount;
+    private String description;
+    private String notes;
+    private String frequency; // DAILY, WEEKLY, MONTHLY, YEARLY
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextRunAt;
+    private LocalDate lastRunAt;
+    private Boolean isActive;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingSeriesPointDTO {
+    private LocalDate period; // first day of the day/week/month/year bucket
+    private BigDecimal income;
+    private BigDecimal expense;
+    private Long count;
+}
\ No newline at end of file
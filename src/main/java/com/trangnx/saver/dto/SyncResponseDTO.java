@@ -0,0 +1,40 @@
+package com.trangnx.saver.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDTO {
+
+    // Pass back as "since" on the next sync
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS")
+    private LocalDateTime watermark;
+
+    // True when the client must drop local data and apply this response as a full snapshot
+    private boolean fullResync;
+
+    private List<AccountDTO> accounts;
+
+    private List<CategoryDTO> categories;
+
+    private List<TransactionDTO> transactions;
+
+    private List<DeletedEntity> deleted;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeletedEntity {
+        private String entityType; // ACCOUNT, CATEGORY or TRANSACTION
+        private Long entityId;
+    }
+}
\ No newline at end of file
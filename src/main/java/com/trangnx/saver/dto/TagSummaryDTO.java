@@ -0,0 +1,19 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagSummaryDTO {
+    private String tag;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private Long transactionsCount;
+}
\ No newline at end of file
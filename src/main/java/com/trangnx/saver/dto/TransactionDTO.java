@@ -24,4 +24,5 @@ public class TransactionDTO {
     private LocalDate transactionDate;
     private String notes;
     private String tags;
+    private Long version;
 }
\ No newline at end of file
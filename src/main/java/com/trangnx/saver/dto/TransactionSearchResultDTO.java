@@ -0,0 +1,17 @@
+package com.trangnx.saver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchResultDTO {
+    private List<TransactionDTO> items; // most relevant first
+    private String nextCursor; // null on the last page
+}
\ No newline at end of file
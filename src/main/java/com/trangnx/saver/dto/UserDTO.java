@@ -15,5 +15,6 @@ public class UserDTO {
     private String fullName;
     private String avatarUrl;
     private String provider;
+    private String baseCurrency;
     private Boolean isActive;
 }
\ No newline at end of file
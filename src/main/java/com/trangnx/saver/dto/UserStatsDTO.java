@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Data
 @Builder
@@ -16,7 +17,12 @@ public class UserStatsDTO {
     private Long accountsCount;
     private Long categoriesCount;
     private Long transactionsCount;
+    private String baseCurrency;
     private BigDecimal totalBalance;
     private BigDecimal monthlyIncome;
     private BigDecimal monthlyExpense;
+    // Amounts per currency with no known rate to baseCurrency, not included in the totals above
+    private Map<String, BigDecimal> unconvertedBalance;
+    private Map<String, BigDecimal> unconvertedMonthlyIncome;
+    private Map<String, BigDecimal> unconvertedMonthlyExpense;
 }
\ No newline at end of file
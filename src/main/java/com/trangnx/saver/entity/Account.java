@@ -6,7 +6,9 @@ import lombok.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+        @Index(name = "idx_accounts_user_updated_at", columnList = "user_id, updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
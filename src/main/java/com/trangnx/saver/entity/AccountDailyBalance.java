@@ -0,0 +1,43 @@
+package com.trangnx.saver.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Net transaction flow of an account on one day, plus the running total of all flow up to and
+ * including that day. Only days with transactions have a row.
+ */
+@Entity
+@Table(name = "account_daily_balances", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_account_daily_balances_account_date", columnNames = {"account_id", "balance_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountDailyBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Account account;
+
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+
+    @Column(name = "net_change", nullable = false, precision = 15, scale = 2)
+    private BigDecimal netChange;
+
+    @Column(name = "cumulative_change", nullable = false, precision = 15, scale = 2)
+    private BigDecimal cumulativeChange;
+}
\ No newline at end of file
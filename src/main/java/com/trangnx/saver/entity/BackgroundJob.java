@@ -0,0 +1,79 @@
+package com.trangnx.saver.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Long-running bulk operation executed off the request thread, with progress the client can poll
+ */
+@Entity
+@Table(name = "background_jobs", indexes = {
+        @Index(name = "idx_background_jobs_user_created_at", columnList = "user_id, created_at"),
+        @Index(name = "idx_background_jobs_status_token_hash", columnList = "status_token_hash", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackgroundJob extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 30)
+    @Enumerated(EnumType.STRING)
+    private JobType type;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+
+    // Account, category or user being deleted
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Column(length = 20)
+    private String strategy;
+
+    @Column(name = "reassign_to_id")
+    private Long reassignToId;
+
+    @Column(name = "total_items", nullable = false)
+    private Long totalItems;
+
+    @Column(name = "processed_items", nullable = false)
+    private Long processedItems;
+
+    // Last completed step, so an interrupted job can resume where it stopped
+    @Column(length = 50)
+    private String checkpoint;
+
+    // SHA-256 of the token that reads the job without a session (a purged user can no longer log in)
+    @Column(name = "status_token_hash", length = 64)
+    private String statusTokenHash;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum JobType {
+        ACCOUNT_DELETE,
+        CATEGORY_DELETE,
+        USER_PURGE
+    }
+
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
\ No newline at end of file
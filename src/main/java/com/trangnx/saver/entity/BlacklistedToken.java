@@ -5,8 +5,17 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * Durable copy of the Redis token blacklist, used when Redis is unavailable
+ */
 @Entity
-@Table(name = "blacklisted_tokens")
+@Table(name = "blacklisted_tokens", indexes = {
+        @Index(name = "idx_blacklisted_tokens_user_email", columnList = "user_email"),
+        @Index(name = "idx_blacklisted_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_blacklisted_tokens_blacklisted_at", columnList = "blacklisted_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_blacklisted_tokens_token_hash", columnNames = "token_hash")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +27,9 @@ public class BlacklistedToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    // SHA-256 hex of the JWT, see TokenHashHelper
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
 
     @Column(name = "blacklisted_at", nullable = false)
     private LocalDateTime blacklistedAt;
@@ -5,9 +5,12 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "budgets")
+@Table(name = "budgets", indexes = {
+        @Index(name = "idx_budgets_user_active_category", columnList = "user_id, is_active, category_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -45,6 +48,14 @@ public class Budget extends BaseEntity {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    // Running expense total inside [startDate, endDate], maintained incrementally on transaction writes
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal spent = BigDecimal.ZERO;
+
+    // Set when spending crosses alertThreshold, cleared when it drops back below
+    @Column(name = "alert_triggered_at")
+    private LocalDateTime alertTriggeredAt;
+
     public enum BudgetPeriod {
         DAILY,
         WEEKLY,
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_user_updated_at", columnList = "user_id, updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
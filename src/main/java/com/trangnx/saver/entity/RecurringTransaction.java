@@ -0,0 +1,84 @@
+package com.trangnx.saver.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+        @Index(name = "idx_recurring_transactions_active_next_run", columnList = "is_active, next_run_at"),
+        @Index(name = "idx_recurring_transactions_user", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringTransaction extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Frequency frequency;
+
+    // Anchor for the schedule; monthly/yearly occurrences keep its day-of-month where possible
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Date of the next occurrence still to be posted
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDate nextRunAt;
+
+    @Column(name = "last_run_at")
+    private LocalDate lastRunAt;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    // Consecutive failed postings; while set, the template is retried no earlier than nextAttemptAt
+    @Column(name = "failed_attempts")
+    private Integer failedAttempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY,
+        YEARLY
+    }
+}
\ No newline at end of file
@@ -5,8 +5,18 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * Issued refresh token, stored by hash. Every rotation adds a row to the token's family;
+ * presenting an already rotated token revokes the whole family.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = "token_hash")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,8 +32,21 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    // SHA-256 hex of the JWT; the token itself is never stored
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    // Shared by a login's original token and all of its rotations
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    // Successor issued when this token was rotated
+    @Column(name = "replaced_by_id")
+    private Long replacedById;
+
+    // When it was rotated; opens the window in which a concurrent refresh is not treated as reuse
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -33,4 +56,4 @@ public class RefreshToken {
 
     @Column(name = "revoked", nullable = false)
     private Boolean revoked = false;
-}
\ No newline at end of file
+}
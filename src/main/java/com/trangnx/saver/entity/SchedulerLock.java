@@ -0,0 +1,30 @@
+package com.trangnx.saver.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease that lets exactly one application node run a scheduled task at a time.
+ * A node that dies while holding it blocks the task only until locked_until.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_by", nullable = false, length = 100)
+    private String lockedBy;
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.trangnx.saver.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind when a synced entity is hard-deleted, so delta sync can report the deletion
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_user_deleted_at", columnList = "user_id, deleted_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public static SyncTombstone of(Long userId, EntityType entityType, Long entityId) {
+        return SyncTombstone.builder()
+                .userId(userId)
+                .entityType(entityType)
+                .entityId(entityId)
+                .deletedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public enum EntityType {
+        ACCOUNT,
+        CATEGORY,
+        TRANSACTION
+    }
+}
\ No newline at end of file
@@ -7,7 +7,16 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_updated_at", columnList = "user_id, updated_at"),
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date"),
+        // Foreign-key lookups for bulk reassignment and cascading deletes
+        @Index(name = "idx_transactions_account", columnList = "account_id"),
+        @Index(name = "idx_transactions_category", columnList = "category_id")
+}, uniqueConstraints = {
+        // One posting per recurring schedule per date, so replays of the scheduler are harmless
+        @UniqueConstraint(name = "uk_transactions_recurring_date", columnNames = {"recurring_transaction_id", "transaction_date"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,6 +58,15 @@ public class Transaction extends BaseEntity {
     @Column(length = 255)
     private String tags;
 
+    // Set when posted by the recurring scheduler
+    @Column(name = "recurring_transaction_id")
+    private Long recurringTransactionId;
+
+    // Optimistic lock: concurrent edits from two devices fail instead of double-applying balance deltas
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     public enum TransactionType {
         INCOME,
         EXPENSE
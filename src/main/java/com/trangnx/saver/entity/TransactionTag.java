@@ -0,0 +1,39 @@
+package com.trangnx.saver.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One normalized tag of a transaction; Transaction.tags keeps the client's original text
+ */
+@Entity
+@Table(name = "transaction_tags", indexes = {
+        @Index(name = "idx_transaction_tags_user_tag", columnList = "user_id, tag, transaction_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transaction_tags_transaction_tag", columnNames = {"transaction_id", "tag"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Denormalized so tag lookups never touch the transactions table until the final join
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "transaction_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Transaction transaction;
+
+    @Column(nullable = false, length = 50)
+    private String tag;
+}
\ No newline at end of file
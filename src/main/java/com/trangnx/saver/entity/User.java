@@ -28,9 +28,17 @@ public class User extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private AuthProvider provider = AuthProvider.GOOGLE;
 
+    // Currency that stats are reported in; null means the default (VND)
+    @Column(name = "base_currency", length = 3)
+    private String baseCurrency;
+
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    // Version of the onboarding template the user was seeded with; null if never seeded
+    @Column(name = "onboarding_version")
+    private Integer onboardingVersion;
+
     public enum AuthProvider {
         GOOGLE,
         LOCAL
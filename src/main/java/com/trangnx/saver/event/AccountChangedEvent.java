@@ -0,0 +1,9 @@
+package com.trangnx.saver.event;
+
+/**
+ * Published by AccountService when an account's details (e.g. its name) change
+ */
+public record AccountChangedEvent(
+        Long userId,
+        Long accountId
+) {}
\ No newline at end of file
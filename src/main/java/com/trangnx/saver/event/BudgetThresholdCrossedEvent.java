@@ -0,0 +1,17 @@
+package com.trangnx.saver.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published inside the transaction that pushed a budget's spending over its alert threshold
+ * (or over 100% when exceeded is true)
+ */
+public record BudgetThresholdCrossedEvent(
+        Long budgetId,
+        Long userId,
+        String budgetName,
+        BigDecimal amount,
+        BigDecimal spent,
+        Integer alertThreshold,
+        boolean exceeded
+) {}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.trangnx.saver.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published by TransactionService whenever a transaction is created, updated or deleted.
+ * Bulk operations publish one event with a null transactionId (and accountBalance).
+ * previousAccountId/previousAccountBalance are set only when an update moved the transaction
+ * to another account, whose balance changed too.
+ */
+public record TransactionChangedEvent(
+        Long userId,
+        Long transactionId,
+        Long accountId,
+        BigDecimal accountBalance,
+        ChangeType changeType,
+        Long previousAccountId,
+        BigDecimal previousAccountBalance
+) {
+
+    public TransactionChangedEvent(Long userId, Long transactionId, Long accountId, BigDecimal accountBalance,
+                                   ChangeType changeType) {
+        this(userId, transactionId, accountId, accountBalance, changeType, null, null);
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.AccountDailyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, Long> {
+
+    List<AccountDailyBalance> findByAccountIdAndBalanceDateBetweenOrderByBalanceDate(
+            Long accountId, LocalDate startDate, LocalDate endDate);
+
+    Optional<AccountDailyBalance> findFirstByAccountIdAndBalanceDateLessThanOrderByBalanceDateDesc(
+            Long accountId, LocalDate date);
+
+    Optional<AccountDailyBalance> findFirstByAccountIdOrderByBalanceDateDesc(Long accountId);
+
+    /**
+     * Add a signed amount to the day's row, creating it from the previous day's running total if needed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_daily_balances (account_id, balance_date, net_change, cumulative_change) " +
+            "VALUES (:accountId, :date, :delta, :delta + COALESCE((" +
+            "    SELECT b.cumulative_change FROM account_daily_balances b " +
+            "    WHERE b.account_id = :accountId AND b.balance_date < :date " +
+            "    ORDER BY b.balance_date DESC LIMIT 1), 0)) " +
+            "ON CONFLICT (account_id, balance_date) DO UPDATE SET " +
+            "net_change = account_daily_balances.net_change + EXCLUDED.net_change, " +
+            "cumulative_change = account_daily_balances.cumulative_change + EXCLUDED.net_change",
+            nativeQuery = true)
+    void upsertDay(@Param("accountId") Long accountId,
+                   @Param("date") LocalDate date,
+                   @Param("delta") BigDecimal delta);
+
+    /**
+     * Ripple a back-dated change forward as one range update over the unique index
+     */
+    @Modifying
+    @Query("UPDATE AccountDailyBalance b SET b.cumulativeChange = b.cumulativeChange + :delta " +
+            "WHERE b.account.id = :accountId AND b.balanceDate > :date")
+    int shiftAfter(@Param("accountId") Long accountId,
+                   @Param("date") LocalDate date,
+                   @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("DELETE FROM AccountDailyBalance b WHERE b.account.id = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Recompute an account's history from its transactions in one pass; recomputed days win over existing rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_daily_balances (account_id, balance_date, net_change, cumulative_change) " +
+            "SELECT t.account_id, t.transaction_date, " +
+            "       SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), " +
+            "       SUM(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END)) " +
+            "           OVER (ORDER BY t.transaction_date) " +
+            "FROM transactions t WHERE t.account_id = :accountId " +
+            "GROUP BY t.account_id, t.transaction_date " +
+            "ON CONFLICT (account_id, balance_date) DO UPDATE SET " +
+            "net_change = EXCLUDED.net_change, cumulative_change = EXCLUDED.cumulative_change",
+            nativeQuery = true)
+    int insertFromTransactions(@Param("accountId") Long accountId);
+
+    // Accounts with transactions recorded before balance history existed
+    @Query(value = "SELECT a.id FROM accounts a " +
+            "WHERE EXISTS (SELECT 1 FROM transactions t WHERE t.account_id = a.id) " +
+            "AND NOT EXISTS (SELECT 1 FROM account_daily_balances b WHERE b.account_id = a.id)",
+            nativeQuery = true)
+    List<Long> findAccountIdsWithoutHistory();
+}
\ No newline at end of file
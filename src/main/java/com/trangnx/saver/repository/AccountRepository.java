@@ -2,8 +2,11 @@ package com.trangnx.saver.repository;
 
 import com.trangnx.saver.entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +22,18 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     boolean existsByUserIdAndName(Long userId, String name);
 
     Long countByUserId(Long userId);
+
+    List<Account> findByUserIdAndUpdatedAtAfter(Long userId, LocalDateTime since);
+
+    @Query("SELECT MAX(a.updatedAt) AS lastUpdated, COUNT(a) AS count FROM Account a WHERE a.user.id = :userId")
+    ListVersion findListVersionByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT a.currency AS currency, SUM(a.balance) AS total FROM Account a " +
+            "WHERE a.user.id = :userId GROUP BY a.currency")
+    List<CurrencyTotal> sumBalanceByUserGroupByCurrency(@Param("userId") Long userId);
+
+    // Row lock held to the end of the transaction; serializes writers of an account's balance history
+    // and holds back inserts that reference the account
+    @Query(value = "SELECT a.id FROM accounts a WHERE a.id = :accountId FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("accountId") Long accountId);
 }
\ No newline at end of file
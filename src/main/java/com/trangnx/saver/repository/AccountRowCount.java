@@ -0,0 +1,11 @@
+package com.trangnx.saver.repository;
+
+/**
+ * Number of rows a bulk statement touched in one account
+ */
+public interface AccountRowCount {
+
+    Long getAccountId();
+
+    Long getCount();
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.trangnx.saver.repository;
+
+/**
+ * One row of a spending aggregate, always for a single currency. Columns not part of a row's
+ * grouping are null.
+ */
+public interface AnalyticsRow extends CurrencyTotal {
+
+    // 1 = per category, 2 = per account, 3 = per type only (GROUPING() bitmask)
+    Integer getGrouping();
+
+    String getType();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Long getAccountId();
+
+    String getAccountName();
+
+    // ISO date (yyyy-MM-dd) of the bucket start
+    String getPeriod();
+
+    Long getCount();
+}
\ No newline at end of file
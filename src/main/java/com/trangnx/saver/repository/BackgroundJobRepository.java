@@ -0,0 +1,34 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.BackgroundJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    Optional<BackgroundJob> findByIdAndUserId(Long id, Long userId);
+
+    List<BackgroundJob> findTop20ByUserIdOrderByCreatedAtDesc(Long userId);
+
+    Optional<BackgroundJob> findFirstByUserIdAndTypeOrderByCreatedAtDesc(Long userId, BackgroundJob.JobType type);
+
+    Optional<BackgroundJob> findByStatusTokenHash(String statusTokenHash);
+
+    List<BackgroundJob> findByTypeAndStatusIn(BackgroundJob.JobType type, List<BackgroundJob.JobStatus> statuses);
+
+    // Runs inside each chunk's transaction, so progress never runs ahead of committed work
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.processedItems = j.processedItems + :count WHERE j.id = :id")
+    void addProgress(@Param("id") Long id, @Param("count") long count);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.checkpoint = :checkpoint WHERE j.id = :id")
+    void updateCheckpoint(@Param("id") Long id, @Param("checkpoint") String checkpoint);
+}
\ No newline at end of file
@@ -2,17 +2,41 @@ package com.trangnx.saver.repository;
 
 import com.trangnx.saver.entity.BlacklistedToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Long> {
 
-    boolean existsByToken(String token);
+    // Blacklisting the same token twice is a no-op
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO blacklisted_tokens (token_hash, blacklisted_at, expires_at, user_email) " +
+            "VALUES (:tokenHash, :blacklistedAt, :expiresAt, :userEmail) " +
+            "ON CONFLICT (token_hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("tokenHash") String tokenHash,
+                       @Param("blacklistedAt") LocalDateTime blacklistedAt,
+                       @Param("expiresAt") LocalDateTime expiresAt,
+                       @Param("userEmail") String userEmail);
 
-    Optional<BlacklistedToken> findByToken(String token);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BlacklistedToken b WHERE b.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
 
-    void deleteByExpiresAtBefore(LocalDateTime dateTime);
+    @Query("SELECT b FROM BlacklistedToken b WHERE b.blacklistedAt > :since AND b.expiresAt > :now")
+    List<BlacklistedToken> findActiveBlacklistedAfter(@Param("since") LocalDateTime since,
+                                                      @Param("now") LocalDateTime now);
+
+    // Bulk delete by physical row id: no entity loading, at most batchSize rows per statement
+    @Modifying
+    @Query(value = "DELETE FROM blacklisted_tokens WHERE ctid IN (" +
+            "SELECT ctid FROM blacklisted_tokens WHERE expires_at < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
\ No newline at end of file
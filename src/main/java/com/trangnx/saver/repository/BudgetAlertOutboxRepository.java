@@ -0,0 +1,28 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.BudgetAlertOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BudgetAlertOutboxRepository extends JpaRepository<BudgetAlertOutbox, Long> {
+
+    // Rows locked by another dispatcher node are skipped, not waited on
+    @Query(value = "SELECT * FROM budget_alert_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<BudgetAlertOutbox> claimDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM BudgetAlertOutbox o WHERE o.status = :status AND o.sentAt < :cutoff")
+    int deleteByStatusAndSentAtBefore(
+            @Param("status") BudgetAlertOutbox.Status status,
+            @Param("cutoff") LocalDateTime cutoff);
+}
\ No newline at end of file
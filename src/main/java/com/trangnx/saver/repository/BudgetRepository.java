@@ -0,0 +1,44 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.Budget;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByUserIdOrderByStartDateDesc(Long userId);
+
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.isActive = true " +
+            "AND :date BETWEEN b.startDate AND b.endDate")
+    List<Budget> findActiveByUserAndDate(
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date);
+
+    // Budgets whose counters a transaction in this category/date affects; locked so concurrent
+    // writes for the same budget serialize instead of losing increments
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.isActive = true " +
+            "AND (b.category.id = :categoryId OR b.category IS NULL) " +
+            "AND :date BETWEEN b.startDate AND b.endDate")
+    List<Budget> findActiveForUpdate(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("date") LocalDate date);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.category.id = :targetId WHERE b.category.id = :categoryId")
+    int reassignCategory(@Param("categoryId") Long categoryId, @Param("targetId") Long targetId);
+
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.category.id = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+}
\ No newline at end of file
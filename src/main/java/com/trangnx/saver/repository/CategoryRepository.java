@@ -2,8 +2,12 @@ package com.trangnx.saver.repository;
 
 import com.trangnx.saver.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -16,4 +20,25 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByUserIdAndName(Long userId, String name);
 
     Long countByUserId(Long userId);
+
+    List<Category> findByUserIdAndUpdatedAtAfter(Long userId, LocalDateTime since);
+
+    @Query("SELECT MAX(c.updatedAt) AS lastUpdated, COUNT(c) AS count FROM Category c WHERE c.user.id = :userId")
+    ListVersion findListVersionByUserId(@Param("userId") Long userId);
+
+    // Row lock held to the end of the transaction; holds back inserts that reference the category
+    @Query(value = "SELECT c.id FROM categories c WHERE c.id = :categoryId FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("categoryId") Long categoryId);
+
+    // All template categories in one statement; the arrays are parallel (one element per category)
+    @Modifying
+    @Query(value = "INSERT INTO categories (user_id, name, type, icon, color, is_default, created_at, updated_at) " +
+            "SELECT :userId, t.name, t.type, t.icon, t.color, true, now(), now() " +
+            "FROM unnest(CAST(:names AS text[]), CAST(:types AS text[]), CAST(:icons AS text[]), CAST(:colors AS text[])) " +
+            "AS t(name, type, icon, color)", nativeQuery = true)
+    int insertDefaults(@Param("userId") Long userId,
+                       @Param("names") String[] names,
+                       @Param("types") String[] types,
+                       @Param("icons") String[] icons,
+                       @Param("colors") String[] colors);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.trangnx.saver.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount aggregate for a single currency
+ */
+public interface CurrencyTotal {
+
+    String getCurrency();
+
+    BigDecimal getTotal();
+}
\ No newline at end of file
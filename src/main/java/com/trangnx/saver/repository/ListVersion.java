@@ -0,0 +1,13 @@
+package com.trangnx.saver.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of a user's list (latest update + row count), used to build list ETags
+ */
+public interface ListVersion {
+
+    LocalDateTime getLastUpdated();
+
+    Long getCount();
+}
\ No newline at end of file
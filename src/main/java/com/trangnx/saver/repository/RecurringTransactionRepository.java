@@ -0,0 +1,56 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.RecurringTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    List<RecurringTransaction> findByUserIdOrderByNextRunAtAsc(Long userId);
+
+    // Deactivated users (e.g. being purged) get no postings; templates that failed wait for their retry time
+    @Query(value = "SELECT r.id FROM recurring_transactions r " +
+            "JOIN users u ON u.id = r.user_id " +
+            "WHERE r.is_active = true AND u.is_active = true AND r.next_run_at <= :today " +
+            "AND (r.next_attempt_at IS NULL OR r.next_attempt_at <= :now) " +
+            "ORDER BY r.next_run_at, r.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> findDueIds(@Param("today") LocalDate today, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Empty if another scheduler node holds the row or has already posted it, so nodes share the
+    // load without posting the same occurrence twice
+    @Query(value = "SELECT * FROM recurring_transactions " +
+            "WHERE id = :id AND is_active = true AND next_run_at <= :today " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<RecurringTransaction> claimDue(@Param("id") Long id, @Param("today") LocalDate today);
+
+    // Waits for a scheduler batch holding any of these rows, so no posting commits after it
+    @Modifying
+    @Query("UPDATE RecurringTransaction r SET r.isActive = false WHERE r.user.id = :userId AND r.isActive = true")
+    int deactivateByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE RecurringTransaction r SET r.account.id = :targetId WHERE r.account.id = :accountId")
+    int reassignAccount(@Param("accountId") Long accountId, @Param("targetId") Long targetId);
+
+    @Modifying
+    @Query("UPDATE RecurringTransaction r SET r.category.id = :targetId WHERE r.category.id = :categoryId")
+    int reassignCategory(@Param("categoryId") Long categoryId, @Param("targetId") Long targetId);
+
+    @Modifying
+    @Query("DELETE FROM RecurringTransaction r WHERE r.account.id = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("DELETE FROM RecurringTransaction r WHERE r.category.id = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Locked so two concurrent refreshes of one token can't both rotate it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashForUpdate(@Param("tokenHash") String tokenHash);
+
+    // A concurrent migration of the same legacy token may have inserted it first
+    @Modifying
+    @Query(value = "INSERT INTO refresh_tokens (user_id, token_hash, family_id, expires_at, created_at, revoked) " +
+            "VALUES (:userId, :tokenHash, :familyId, :expiresAt, :createdAt, false) " +
+            "ON CONFLICT (token_hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("tokenHash") String tokenHash,
+                       @Param("familyId") String familyId,
+                       @Param("expiresAt") LocalDateTime expiresAt,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.familyId = :familyId AND rt.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.user.id = :userId AND rt.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE ctid IN (" +
+            "SELECT ctid FROM refresh_tokens WHERE expires_at < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
\ No newline at end of file
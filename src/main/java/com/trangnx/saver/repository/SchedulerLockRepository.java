@@ -0,0 +1,40 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // Inserts the lock or takes over an expired one in a single statement; returns 1 if acquired
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_locks (name, locked_until, locked_by) VALUES (:name, :until, :owner) " +
+            "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, locked_by = EXCLUDED.locked_by " +
+            "WHERE scheduler_locks.locked_until <= :now", nativeQuery = true)
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until " +
+            "WHERE l.name = :name AND l.lockedBy = :owner AND l.lockedUntil > :now")
+    int extend(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("now") LocalDateTime now,
+               @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("DELETE FROM SchedulerLock l WHERE l.name = :name AND l.lockedBy = :owner")
+    int delete(@Param("name") String name, @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
\ No newline at end of file
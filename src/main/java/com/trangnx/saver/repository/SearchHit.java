@@ -0,0 +1,11 @@
+package com.trangnx.saver.repository;
+
+/**
+ * Full-text search match: transaction id and its relevance
+ */
+public interface SearchHit {
+
+    Long getId();
+
+    Float getRank();
+}
\ No newline at end of file
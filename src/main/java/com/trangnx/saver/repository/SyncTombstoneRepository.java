@@ -0,0 +1,21 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    List<SyncTombstone> findByUserIdAndDeletedAtAfter(Long userId, LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone s WHERE s.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
\ No newline at end of file
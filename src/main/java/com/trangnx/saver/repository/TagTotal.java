@@ -0,0 +1,19 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.Transaction;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-tag, per-type spend aggregate
+ */
+public interface TagTotal {
+
+    String getTag();
+
+    Transaction.TransactionType getType();
+
+    BigDecimal getTotal();
+
+    Long getCount();
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.Transaction;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregate-only queries over transactions; every query is one pass over (user_id, transaction_date).
+ * Totals are grouped by account currency, since amounts in different currencies can't be summed.
+ */
+@Repository
+public interface TransactionAnalyticsRepository extends org.springframework.data.repository.Repository<Transaction, Long> {
+
+    // Per-category, per-account and per-type totals in a single scan
+    @Query(value = "SELECT CAST(GROUPING(t.category_id, t.account_id) AS integer) AS grouping, " +
+            "t.type AS type, t.category_id AS categoryId, c.name AS categoryName, " +
+            "t.account_id AS accountId, a.name AS accountName, a.currency AS currency, " +
+            "SUM(t.amount) AS total, COUNT(*) AS count " +
+            "FROM transactions t " +
+            "JOIN categories c ON c.id = t.category_id " +
+            "JOIN accounts a ON a.id = t.account_id " +
+            "WHERE t.user_id = :userId AND t.transaction_date BETWEEN :startDate AND :endDate " +
+            "GROUP BY GROUPING SETS ((t.type, a.currency, t.category_id, c.name), " +
+            "(t.type, a.currency, t.account_id, a.name), (t.type, a.currency))",
+            nativeQuery = true)
+    List<AnalyticsRow> summarize(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // granularity: day, week, month or year (date_trunc field)
+    @Query(value = "SELECT to_char(date_trunc(:granularity, t.transaction_date), 'YYYY-MM-DD') AS period, " +
+            "t.type AS type, a.currency AS currency, SUM(t.amount) AS total, COUNT(*) AS count " +
+            "FROM transactions t " +
+            "JOIN accounts a ON a.id = t.account_id " +
+            "WHERE t.user_id = :userId AND t.transaction_date BETWEEN :startDate AND :endDate " +
+            "GROUP BY 1, 2, 3 ORDER BY 1",
+            nativeQuery = true)
+    List<AnalyticsRow> timeSeries(
+            @Param("userId") Long userId,
+            @Param("granularity") String granularity,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Per-category totals of one type; ranking needs converted totals, so it happens in the caller
+    @Query(value = "SELECT t.category_id AS categoryId, c.name AS categoryName, t.type AS type, " +
+            "a.currency AS currency, SUM(t.amount) AS total, COUNT(*) AS count " +
+            "FROM transactions t " +
+            "JOIN categories c ON c.id = t.category_id " +
+            "JOIN accounts a ON a.id = t.account_id " +
+            "WHERE t.user_id = :userId AND t.type = :type " +
+            "AND t.transaction_date BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.category_id, c.name, t.type, a.currency",
+            nativeQuery = true)
+    List<AnalyticsRow> categoryTotals(
+            @Param("userId") Long userId,
+            @Param("type") String type,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.trangnx.saver.repository;
 
 import com.trangnx.saver.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,15 +9,44 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    List<Transaction> findByUserIdOrderByTransactionDateDesc(Long userId);
+    // List reads select DTO columns directly: no entities, no persistence context, no lazy loads
+    String TRANSACTION_ROW_SELECT = "SELECT t.id AS id, a.id AS accountId, a.name AS accountName, " +
+            "c.id AS categoryId, c.name AS categoryName, t.type AS type, t.amount AS amount, " +
+            "t.description AS description, t.transactionDate AS transactionDate, t.notes AS notes, " +
+            "t.tags AS tags, t.version AS version " +
+            "FROM Transaction t JOIN t.account a JOIN t.category c ";
 
-    List<Transaction> findByUserIdAndTransactionDateBetween(
-            Long userId, LocalDate startDate, LocalDate endDate);
+    @Query(TRANSACTION_ROW_SELECT + "WHERE t.user.id = :userId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query(TRANSACTION_ROW_SELECT + "WHERE t.user.id = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate")
+    List<TransactionRow> findRowsByUserIdAndDateRange(@Param("userId") Long userId,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+
+    @Query(TRANSACTION_ROW_SELECT + "WHERE t.user.id = :userId AND t.updatedAt > :since")
+    List<TransactionRow> findRowsByUserIdAndUpdatedAtAfter(@Param("userId") Long userId,
+                                                           @Param("since") LocalDateTime since);
+
+    // Keyset page for streaming: rows strictly after (beforeDate, beforeId) in newest-first order
+    @Query(TRANSACTION_ROW_SELECT + "WHERE t.user.id = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "AND (t.transactionDate < :beforeDate OR (t.transactionDate = :beforeDate AND t.id < :beforeId)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionRow> findRowPageByUserId(@Param("userId") Long userId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate,
+                                             @Param("beforeDate") LocalDate beforeDate,
+                                             @Param("beforeId") Long beforeId,
+                                             Pageable pageable);
 
     List<Transaction> findByUserIdAndCategoryId(Long userId, Long categoryId);
 
@@ -24,6 +54,11 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     Long countByUserId(Long userId);
 
+    boolean existsByRecurringTransactionIdAndTransactionDate(Long recurringTransactionId, LocalDate transactionDate);
+
+    @Query("SELECT MAX(t.updatedAt) AS lastUpdated, COUNT(t) AS count FROM Transaction t WHERE t.user.id = :userId")
+    ListVersion findListVersionByUserId(@Param("userId") Long userId);
+
     @Query("SELECT SUM(t.amount) FROM Transaction t " +
             "WHERE t.user.id = :userId AND t.type = :type " +
             "AND t.transactionDate BETWEEN :startDate AND :endDate")
@@ -32,4 +67,114 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("type") Transaction.TransactionType type,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t.account.currency AS currency, SUM(t.amount) AS total FROM Transaction t " +
+            "WHERE t.user.id = :userId AND t.type = :type " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.account.currency")
+    List<CurrencyTotal> sumAmountByUserAndTypeAndDateRangeGroupByCurrency(
+            @Param("userId") Long userId,
+            @Param("type") Transaction.TransactionType type,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t.account.currency AS currency, SUM(t.amount) AS total FROM Transaction t " +
+            "WHERE t.user.id = :userId AND t.category.id = :categoryId AND t.type = :type " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.account.currency")
+    List<CurrencyTotal> sumAmountByUserAndCategoryAndTypeAndDateRangeGroupByCurrency(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("type") Transaction.TransactionType type,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.account JOIN FETCH t.category WHERE t.id IN :ids")
+    List<Transaction> findAllWithAccountAndCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    // search_vector and its GIN index are created by schema.sql
+    @Query(value = "SELECT t.id AS id, ts_rank(t.search_vector, q.query) AS rank " +
+            "FROM transactions t, to_tsquery('simple', :query) AS q(query) " +
+            "WHERE t.user_id = :userId AND t.search_vector @@ q.query " +
+            "ORDER BY rank DESC, t.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<SearchHit> search(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("limit") int limit);
+
+    // Keyset continuation of search(): rows ranked after (afterRank, afterId)
+    @Query(value = "SELECT t.id AS id, ts_rank(t.search_vector, q.query) AS rank " +
+            "FROM transactions t, to_tsquery('simple', :query) AS q(query) " +
+            "WHERE t.user_id = :userId AND t.search_vector @@ q.query " +
+            "AND (ts_rank(t.search_vector, q.query), t.id) < (CAST(:afterRank AS real), :afterId) " +
+            "ORDER BY rank DESC, t.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<SearchHit> searchAfter(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("afterRank") float afterRank,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit);
+
+    long countByAccountId(Long accountId);
+
+    long countByCategoryId(Long categoryId);
+
+    // Bulk chunk statements for account/category deletion. Each is one round trip that touches at most
+    // batchSize rows and returns how many it processed; tags and balance history go via ON DELETE CASCADE.
+
+    @Query(value = "WITH doomed AS (" +
+            "    DELETE FROM transactions WHERE id IN (" +
+            "        SELECT id FROM transactions WHERE account_id = :accountId ORDER BY id LIMIT :batchSize)" +
+            "    RETURNING id, user_id), " +
+            "tombstones AS (" +
+            "    INSERT INTO sync_tombstones (user_id, entity_type, entity_id, deleted_at) " +
+            "    SELECT user_id, 'TRANSACTION', id, now() FROM doomed) " +
+            "SELECT COUNT(*) FROM doomed", nativeQuery = true)
+    int deleteChunkByAccount(@Param("accountId") Long accountId, @Param("batchSize") int batchSize);
+
+    // Also reverts each chunk's effect on its accounts' balances in the same statement, and returns
+    // the rows deleted per account so their balance history can be rebuilt with the chunk
+    @Query(value = "WITH doomed AS (" +
+            "    DELETE FROM transactions WHERE id IN (" +
+            "        SELECT id FROM transactions WHERE category_id = :categoryId ORDER BY id LIMIT :batchSize)" +
+            "    RETURNING id, user_id, account_id, type, amount), " +
+            "tombstones AS (" +
+            "    INSERT INTO sync_tombstones (user_id, entity_type, entity_id, deleted_at) " +
+            "    SELECT user_id, 'TRANSACTION', id, now() FROM doomed), " +
+            "reverted AS (" +
+            "    UPDATE accounts a SET balance = a.balance - f.flow, updated_at = now() " +
+            "    FROM (SELECT account_id, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) AS flow " +
+            "          FROM doomed GROUP BY account_id) f " +
+            "    WHERE a.id = f.account_id) " +
+            "SELECT account_id AS accountId, COUNT(*) AS count FROM doomed GROUP BY account_id ORDER BY account_id",
+            nativeQuery = true)
+    List<AccountRowCount> deleteChunkByCategory(@Param("categoryId") Long categoryId, @Param("batchSize") int batchSize);
+
+    @Query(value = "WITH moved AS (" +
+            "    UPDATE transactions SET category_id = :targetId, updated_at = now(), version = version + 1 " +
+            "    WHERE id IN (" +
+            "        SELECT id FROM transactions WHERE category_id = :categoryId ORDER BY id LIMIT :batchSize)" +
+            "    RETURNING id) " +
+            "SELECT COUNT(*) FROM moved", nativeQuery = true)
+    int reassignChunkToCategory(@Param("categoryId") Long categoryId,
+                                @Param("targetId") Long targetId,
+                                @Param("batchSize") int batchSize);
+
+    // Moved transactions take their effect on the balance with them to the target account
+    @Query(value = "WITH moved AS (" +
+            "    UPDATE transactions SET account_id = :targetId, updated_at = now(), version = version + 1 " +
+            "    WHERE id IN (" +
+            "        SELECT id FROM transactions WHERE account_id = :accountId ORDER BY id LIMIT :batchSize)" +
+            "    RETURNING type, amount), " +
+            "credited AS (" +
+            "    UPDATE accounts SET balance = balance + (" +
+            "        SELECT COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), 0) FROM moved), " +
+            "        updated_at = now() " +
+            "    WHERE id = :targetId) " +
+            "SELECT COUNT(*) FROM moved", nativeQuery = true)
+    int reassignChunkToAccount(@Param("accountId") Long accountId,
+                               @Param("targetId") Long targetId,
+                               @Param("batchSize") int batchSize);
 }
\ No newline at end of file
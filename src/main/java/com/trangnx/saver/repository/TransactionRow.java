@@ -0,0 +1,36 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat transaction row with account and category names, read without loading any entities
+ */
+public interface TransactionRow {
+
+    Long getId();
+
+    Long getAccountId();
+
+    String getAccountName();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Transaction.TransactionType getType();
+
+    BigDecimal getAmount();
+
+    String getDescription();
+
+    LocalDate getTransactionDate();
+
+    String getNotes();
+
+    String getTags();
+
+    Long getVersion();
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.Transaction;
+import com.trangnx.saver.entity.TransactionTag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TransactionTagRepository extends JpaRepository<TransactionTag, Long> {
+
+    @Modifying
+    @Query("DELETE FROM TransactionTag tt WHERE tt.transaction.id = :transactionId")
+    void deleteByTransactionId(@Param("transactionId") Long transactionId);
+
+    @Query("SELECT t FROM TransactionTag tt JOIN tt.transaction t JOIN FETCH t.account JOIN FETCH t.category " +
+            "WHERE tt.userId = :userId AND tt.tag = :tag " +
+            "ORDER BY t.transactionDate DESC")
+    List<Transaction> findTransactionsByUserAndTag(@Param("userId") Long userId, @Param("tag") String tag);
+
+    @Query("SELECT tt.tag AS tag, t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count " +
+            "FROM TransactionTag tt JOIN tt.transaction t " +
+            "WHERE tt.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY tt.tag, t.type")
+    List<TagTotal> sumByUserAndDateRange(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT tt.tag AS tag, t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count " +
+            "FROM TransactionTag tt JOIN tt.transaction t " +
+            "WHERE tt.userId = :userId AND tt.tag = :tag " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY tt.tag, t.type")
+    List<TagTotal> sumByUserAndTagAndDateRange(
+            @Param("userId") Long userId,
+            @Param("tag") String tag,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Backfill insert: tags another writer already indexed are left as they are
+    @Modifying
+    @Query(value = "INSERT INTO transaction_tags (user_id, transaction_id, tag) " +
+            "SELECT :userId, :transactionId, t.tag FROM unnest(CAST(:tags AS text[])) AS t(tag) " +
+            "ON CONFLICT (transaction_id, tag) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("transactionId") Long transactionId,
+                       @Param("tags") String[] tags);
+
+    // Tagged transactions written before tags were normalized
+    @Query("SELECT t FROM Transaction t WHERE t.id > :afterId AND t.tags IS NOT NULL AND t.tags <> '' " +
+            "AND NOT EXISTS (SELECT 1 FROM TransactionTag tt WHERE tt.transaction = t) " +
+            "ORDER BY t.id")
+    List<Transaction> findUnindexedTaggedAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
\ No newline at end of file
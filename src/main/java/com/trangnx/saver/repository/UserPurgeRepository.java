@@ -0,0 +1,81 @@
+package com.trangnx.saver.repository;
+
+import com.trangnx.saver.entity.User;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Bounded DELETE statements used by the user purge job. Each removes at most batchSize rows of one
+ * table, so every statement is short, holds few locks and writes little WAL.
+ */
+public interface UserPurgeRepository extends org.springframework.data.repository.Repository<User, Long> {
+
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM transactions WHERE user_id = :userId) + " +
+            "(SELECT COUNT(*) FROM recurring_transactions WHERE user_id = :userId) + " +
+            "(SELECT COUNT(*) FROM budgets WHERE user_id = :userId) + " +
+            "(SELECT COUNT(*) FROM accounts WHERE user_id = :userId) + " +
+            "(SELECT COUNT(*) FROM categories WHERE user_id = :userId) + " +
+            "(SELECT COUNT(*) FROM sync_tombstones WHERE user_id = :userId) + " +
+            "(SELECT COUNT(*) FROM refresh_tokens WHERE user_id = :userId) + " +
+            "(SELECT COUNT(*) FROM background_jobs WHERE user_id = :userId)", nativeQuery = true)
+    long countOwnedRows(@Param("userId") Long userId);
+
+    // transaction_tags go with their transactions via ON DELETE CASCADE
+    @Modifying
+    @Query(value = "DELETE FROM transactions WHERE id IN (" +
+            "SELECT id FROM transactions WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteTransactions(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM recurring_transactions WHERE id IN (" +
+            "SELECT id FROM recurring_transactions WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteRecurringTransactions(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM budget_alert_outbox WHERE id IN (" +
+            "SELECT id FROM budget_alert_outbox WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteBudgetAlerts(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM budgets WHERE id IN (" +
+            "SELECT id FROM budgets WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteBudgets(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    // account_daily_balances go with their accounts via ON DELETE CASCADE
+    @Modifying
+    @Query(value = "DELETE FROM accounts WHERE id IN (" +
+            "SELECT id FROM accounts WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteAccounts(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM categories WHERE id IN (" +
+            "SELECT id FROM categories WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteCategories(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM sync_tombstones WHERE id IN (" +
+            "SELECT id FROM sync_tombstones WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteSyncTombstones(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (" +
+            "SELECT id FROM refresh_tokens WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteRefreshTokens(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM blacklisted_tokens WHERE id IN (" +
+            "SELECT id FROM blacklisted_tokens WHERE user_email = :email LIMIT :batchSize)", nativeQuery = true)
+    int deleteBlacklistedTokens(@Param("email") String email, @Param("batchSize") int batchSize);
+
+    // The purge job itself is kept, see UserPurgeService
+    @Modifying
+    @Query(value = "DELETE FROM background_jobs WHERE id IN (" +
+            "SELECT id FROM background_jobs WHERE user_id = :userId AND id <> :keepJobId LIMIT :batchSize)", nativeQuery = true)
+    int deleteBackgroundJobs(@Param("userId") Long userId, @Param("keepJobId") Long keepJobId, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = :userId", nativeQuery = true)
+    int deleteUser(@Param("userId") Long userId);
+}
\ No newline at end of file
@@ -11,6 +11,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -66,6 +67,8 @@ public class JwtService {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("tokenType", "REFRESH");
+        // Unique id, so two refresh tokens issued in the same second never hash the same
+        claims.put("jti", UUID.randomUUID().toString());
         return createToken(claims, email, refreshTokenExpiration);
     }
 
@@ -99,6 +102,11 @@ public class JwtService {
         return claims.get("tokenType", String.class);
     }
 
+    // Null for refresh tokens issued before they carried a jti
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
     public boolean isRefreshToken(String token) {
         try {
             String tokenType = extractTokenType(token);
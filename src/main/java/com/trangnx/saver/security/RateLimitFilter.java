@@ -0,0 +1,101 @@
+package com.trangnx.saver.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.trangnx.saver.config.RateLimitProperties;
+import com.trangnx.saver.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-user / per-IP rate limiting. Runs right after JwtAuthenticationFilter so authenticated
+ * requests are limited by user id and anonymous ones by client IP.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return properties.getExcludePaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitProperties.Rule rule = resolveRule(request);
+        String key = rule.getName() + ":" + resolveSubject(request, rule);
+
+        long retryAfterMs = rateLimiter.tryConsume(key, rule);
+        if (retryAfterMs > 0) {
+            System.out.println("DEBUG: Rate limit exceeded for " + key);
+            long retryAfterSeconds = Math.max(1, (retryAfterMs + 999) / 1000);
+
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json;charset=UTF-8");
+            ApiResponse<Void> errorResponse = ApiResponse.error(
+                    "Too many requests. Please retry after " + retryAfterSeconds + " seconds.",
+                    "RATE_LIMITED"
+            );
+            response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.Rule resolveRule(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            boolean methodMatches = rule.getMethods().isEmpty()
+                    || rule.getMethods().stream().anyMatch(m -> m.equalsIgnoreCase(method));
+            if (methodMatches && pathMatcher.match(rule.getPath(), path)) {
+                return rule;
+            }
+        }
+        return properties.getDefaultRule();
+    }
+
+    private String resolveSubject(HttpServletRequest request, RateLimitProperties.Rule rule) {
+        if (rule.getKeyBy() == RateLimitProperties.KeyBy.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+                return "user:" + user.getId();
+            }
+        }
+        // Client IP from X-Forwarded-For when the request came through a trusted proxy (server.forward-headers-strategy)
+        return "ip:" + request.getRemoteAddr();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.trangnx.saver.security;
+
+import com.trangnx.saver.config.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distributed token bucket. The authoritative bucket lives in Redis (one atomic Lua call per
+ * refill); each node leases a few tokens at a time and spends them locally, so most requests
+ * never touch Redis. Near the limit the lease shrinks to one token, making the check exact.
+ */
+@Component
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RateLimitProperties properties;
+    private final DefaultRedisScript<List<Long>> tokenBucketScript;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    public RateLimiter(@Qualifier("masterRedisTemplate") RedisTemplate<String, String> redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.tokenBucketScript = tokenBucketScript();
+    }
+
+    /**
+     * Take one token for the key under the rule.
+     * @return 0 if allowed, otherwise milliseconds until the client may retry
+     */
+    public long tryConsume(String key, RateLimitProperties.Rule rule) {
+        Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+        long now = System.currentTimeMillis();
+
+        synchronized (lease) {
+            if (now < lease.blockedUntil) {
+                return lease.blockedUntil - now;
+            }
+            if (lease.tokens > 0 && now < lease.expiresAt) {
+                lease.tokens--;
+                return 0;
+            }
+
+            long requested = lease.nearLimit ? 1 : leaseSize(rule);
+            List<Long> result;
+            try {
+                result = redisTemplate.execute(tokenBucketScript, List.of(KEY_PREFIX + key),
+                        String.valueOf(rule.getCapacity()),
+                        String.valueOf(rule.getRefillPerSecond()),
+                        String.valueOf(requested));
+            } catch (RuntimeException e) {
+                // Fail open: an unavailable Redis must not take the API down with it
+                System.err.println("ERROR: Rate limiter unavailable, allowing request: " + e.getMessage());
+                return 0;
+            }
+            if (result == null || result.size() < 3) {
+                return 0;
+            }
+
+            long granted = result.get(0);
+            long remaining = result.get(1);
+            lease.nearLimit = remaining < properties.getLeaseSize() * 2L;
+
+            if (granted == 0) {
+                lease.tokens = 0;
+                lease.blockedUntil = now + result.get(2);
+                return Math.max(1, result.get(2));
+            }
+            lease.tokens = granted - 1;
+            lease.expiresAt = now + properties.getLeaseTtlMs();
+            return 0;
+        }
+    }
+
+    // Redis returns the script's integer array as a List of Longs; the class literal can't carry that
+    @SuppressWarnings("unchecked")
+    private static DefaultRedisScript<List<Long>> tokenBucketScript() {
+        DefaultRedisScript<List<Long>> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("redis/token-bucket.lua"));
+        script.setResultType((Class<List<Long>>) (Class<?>) List.class);
+        return script;
+    }
+
+    // Leased tokens a node doesn't spend before the TTL are lost to the bucket, so a lease must
+    // stay a small share of it: taking a whole small bucket would starve the next request
+    private long leaseSize(RateLimitProperties.Rule rule) {
+        long share = (long) (rule.getCapacity() * properties.getLeaseMaxShare());
+        return Math.max(1, Math.min(properties.getLeaseSize(), share));
+    }
+
+    // Forget idle clients so the local map stays bounded
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleLeases() {
+        long now = System.currentTimeMillis();
+        leases.entrySet().removeIf(entry -> {
+            Lease lease = entry.getValue();
+            synchronized (lease) {
+                return now >= lease.expiresAt && now >= lease.blockedUntil;
+            }
+        });
+    }
+
+    private static final class Lease {
+        private long tokens;
+        private long expiresAt;
+        private long blockedUntil;
+        private boolean nearLimit;
+    }
+}
\ No newline at end of file
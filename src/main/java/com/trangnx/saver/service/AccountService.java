@@ -3,12 +3,16 @@ package com.trangnx.saver.service;
 import com.trangnx.saver.dto.AccountDTO;
 import com.trangnx.saver.entity.Account;
 import com.trangnx.saver.entity.User;
+import com.trangnx.saver.event.AccountChangedEvent;
 import com.trangnx.saver.repository.AccountRepository;
 import com.trangnx.saver.repository.UserRepository;
+import com.trangnx.saver.util.ETagHelper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,7 +23,10 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExchangeRateService exchangeRateService;
 
+    @Transactional(readOnly = true)
     public List<AccountDTO> getAllAccounts(Long userId) {
         return accountRepository.findByUserIdOrderByIsDefaultDesc(userId)
                 .stream()
@@ -27,6 +34,23 @@ public class AccountService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Weak ETag of the user's accounts list, computed without loading any accounts
+     */
+    @Transactional(readOnly = true)
+    public String getAccountsETag(Long userId) {
+        return ETagHelper.weakListETag("accounts", accountRepository.findListVersionByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountDTO> getAccountsChangedSince(Long userId, LocalDateTime since) {
+        return accountRepository.findByUserIdAndUpdatedAtAfter(userId, since)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
     public AccountDTO getAccountById(Long id) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
@@ -41,12 +65,17 @@ public class AccountService {
             throw new RuntimeException("Account name already exists");
         }
 
+        String currency = dto.getCurrency() != null ? dto.getCurrency().toUpperCase() : ExchangeRateService.DEFAULT_CURRENCY;
+        if (!exchangeRateService.isSupported(currency)) {
+            throw new RuntimeException("Unsupported currency: " + dto.getCurrency());
+        }
+
         Account account = Account.builder()
                 .user(user)
                 .name(dto.getName())
                 .type(Account.AccountType.valueOf(dto.getType()))
                 .balance(dto.getBalance())
-                .currency(dto.getCurrency() != null ? dto.getCurrency() : "VND")
+                .currency(currency)
                 .icon(dto.getIcon())
                 .color(dto.getColor())
                 .isDefault(dto.getIsDefault() != null ? dto.getIsDefault() : false)
@@ -66,13 +95,10 @@ public class AccountService {
         if (dto.getColor() != null) account.setColor(dto.getColor());
 
         Account updated = accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChangedEvent(account.getUser().getId(), account.getId()));
         return convertToDTO(updated);
     }
 
-    public void deleteAccount(Long id) {
-        accountRepository.deleteById(id);
-    }
-
     private AccountDTO convertToDTO(Account account) {
         return AccountDTO.builder()
                 .id(account.getId())
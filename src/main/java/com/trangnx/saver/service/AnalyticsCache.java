@@ -0,0 +1,149 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.event.AccountChangedEvent;
+import com.trangnx.saver.event.TransactionChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of analytics results. Every committed transaction write or account change bumps
+ * the user's generation, which invalidates all of that user's entries at once. Invalidations are
+ * broadcast over Redis so every node drops its copy; if Redis is down, other nodes catch up at the TTL.
+ * Both the number of users and the entries per user are bounded, and a user's generation is
+ * evicted together with their entries.
+ */
+@Component
+public class AnalyticsCache implements MessageListener {
+
+    static final String CHANNEL = "analytics:invalidate";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Map<Long, UserEntries> users;
+    private final int maxEntriesPerUser;
+    private final long ttlMillis;
+
+    public AnalyticsCache(
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${analytics.cache.max-users:2000}") int maxUsers,
+            @Value("${analytics.cache.max-entries-per-user:50}") int maxEntriesPerUser,
+            @Value("${analytics.cache.ttl-ms:600000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.ttlMillis = ttlMillis;
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserEntries> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Get a cached result, or compute and cache it.
+     * A result computed while a write committed is returned but not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String key, Supplier<T> loader) {
+        UserEntries userEntries = users.computeIfAbsent(userId, id -> new UserEntries(maxEntriesPerUser));
+        long generation;
+        synchronized (userEntries) {
+            generation = userEntries.generation;
+            Entry entry = userEntries.entries.get(key);
+            if (entry != null && System.currentTimeMillis() - entry.createdAt < ttlMillis) {
+                return (T) entry.value;
+            }
+        }
+
+        T value = loader.get();
+        synchronized (userEntries) {
+            // An evicted bucket may still be written here; it is unreachable, so that is harmless
+            if (userEntries.generation == generation) {
+                userEntries.entries.put(key, new Entry(System.currentTimeMillis(), value));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop the user's entries on this node and tell the other nodes to do the same
+     */
+    public void invalidate(Long userId) {
+        invalidateLocally(userId);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            System.err.println("ERROR: Failed to broadcast analytics invalidation for user " + userId + ": " + e.getMessage());
+        }
+    }
+
+    // After commit, so a concurrent reader can't re-cache the pre-commit state
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    // Account names are part of the summary breakdowns
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            invalidateLocally(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            System.err.println("ERROR: Invalid analytics invalidation message: " + e.getMessage());
+        }
+    }
+
+    private void invalidateLocally(Long userId) {
+        UserEntries userEntries = users.get(userId);
+        if (userEntries == null) {
+            return;
+        }
+        synchronized (userEntries) {
+            userEntries.generation++;
+            userEntries.entries.clear();
+        }
+    }
+
+    // Guarded by its own monitor
+    private static final class UserEntries {
+        private long generation;
+        private final Map<String, Entry> entries;
+
+        private UserEntries(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    private record Entry(long createdAt, Object value) {}
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.AnalyticsSummaryDTO;
+import com.trangnx.saver.dto.SpendingSeriesPointDTO;
+import com.trangnx.saver.entity.Transaction;
+import com.trangnx.saver.repository.AnalyticsRow;
+import com.trangnx.saver.repository.TransactionAnalyticsRepository;
+import com.trangnx.saver.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Spending aggregates computed in the database, so clients get compact series instead of
+ * downloading every transaction. The database groups totals by account currency; each group is
+ * converted once to the user's base currency.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    private static final int GROUPING_CATEGORY = 1;
+    private static final int GROUPING_ACCOUNT = 2;
+    private static final int GROUPING_TYPE = 3;
+    private static final int MAX_TOP_CATEGORIES = 50;
+
+    private final TransactionAnalyticsRepository analyticsRepository;
+    private final AnalyticsCache analyticsCache;
+    private final UserRepository userRepository;
+    private final ExchangeRateService exchangeRateService;
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH,
+        YEAR
+    }
+
+    /**
+     * Get income/expense totals for a date range broken down by category and by account
+     */
+    public AnalyticsSummaryDTO getSummary(Long userId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        String currency = baseCurrency(userId);
+        return analyticsCache.get(userId, "summary:" + currency + ":" + startDate + ":" + endDate,
+                () -> buildSummary(userId, currency, startDate, endDate));
+    }
+
+    /**
+     * Get income/expense per day, week, month or year; buckets without transactions are omitted
+     */
+    public List<SpendingSeriesPointDTO> getTimeSeries(Long userId, LocalDate startDate, LocalDate endDate,
+                                                      Granularity granularity) {
+        validateRange(startDate, endDate);
+        String currency = baseCurrency(userId);
+        return analyticsCache.get(userId, "series:" + currency + ":" + granularity + ":" + startDate + ":" + endDate,
+                () -> buildTimeSeries(userId, currency, startDate, endDate, granularity));
+    }
+
+    /**
+     * Get the categories with the highest totals of the given type (EXPENSE by default)
+     */
+    public List<AnalyticsSummaryDTO.Breakdown> getTopCategories(Long userId, LocalDate startDate, LocalDate endDate,
+                                                                Transaction.TransactionType type, int limit) {
+        validateRange(startDate, endDate);
+        int size = Math.max(1, Math.min(limit, MAX_TOP_CATEGORIES));
+        String currency = baseCurrency(userId);
+        return analyticsCache.get(userId, "top:" + currency + ":" + type + ":" + size + ":" + startDate + ":" + endDate,
+                () -> toBreakdowns(analyticsRepository.categoryTotals(userId, type.name(), startDate, endDate),
+                        AnalyticsRow::getCategoryId, AnalyticsRow::getCategoryName, currency)
+                        .stream()
+                        .limit(size)
+                        .collect(Collectors.toList()));
+    }
+
+    private AnalyticsSummaryDTO buildSummary(Long userId, String currency, LocalDate startDate, LocalDate endDate) {
+        List<AnalyticsRow> categoryRows = new ArrayList<>();
+        List<AnalyticsRow> accountRows = new ArrayList<>();
+        List<AnalyticsRow> incomeRows = new ArrayList<>();
+        List<AnalyticsRow> expenseRows = new ArrayList<>();
+        long count = 0;
+
+        for (AnalyticsRow row : analyticsRepository.summarize(userId, startDate, endDate)) {
+            switch (row.getGrouping()) {
+                case GROUPING_CATEGORY -> categoryRows.add(row);
+                case GROUPING_ACCOUNT -> accountRows.add(row);
+                case GROUPING_TYPE -> {
+                    if (Transaction.TransactionType.INCOME.name().equals(row.getType())) {
+                        incomeRows.add(row);
+                    } else {
+                        expenseRows.add(row);
+                    }
+                    count += row.getCount();
+                }
+                default -> { }
+            }
+        }
+
+        ExchangeRateService.CurrencySum income = exchangeRateService.sumInCurrency(incomeRows, currency);
+        ExchangeRateService.CurrencySum expense = exchangeRateService.sumInCurrency(expenseRows, currency);
+
+        return AnalyticsSummaryDTO.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .currency(currency)
+                .totalIncome(income.total())
+                .totalExpense(expense.total())
+                .unconvertedIncome(income.unconverted())
+                .unconvertedExpense(expense.unconverted())
+                .transactionsCount(count)
+                .byCategory(toBreakdowns(categoryRows, AnalyticsRow::getCategoryId, AnalyticsRow::getCategoryName, currency))
+                .byAccount(toBreakdowns(accountRows, AnalyticsRow::getAccountId, AnalyticsRow::getAccountName, currency))
+                .build();
+    }
+
+    private List<SpendingSeriesPointDTO> buildTimeSeries(Long userId, String currency, LocalDate startDate,
+                                                         LocalDate endDate, Granularity granularity) {
+        // Rows arrive ordered by period; one row per (period, type, currency)
+        Map<String, List<AnalyticsRow>> byPeriod = analyticsRepository.timeSeries(
+                        userId, granularity.name().toLowerCase(), startDate, endDate)
+                .stream()
+                .collect(Collectors.groupingBy(AnalyticsRow::getPeriod, LinkedHashMap::new, Collectors.toList()));
+
+        List<SpendingSeriesPointDTO> points = new ArrayList<>();
+        byPeriod.forEach((period, rows) -> {
+            Map<Boolean, List<AnalyticsRow>> byIncome = rows.stream().collect(Collectors.partitioningBy(
+                    row -> Transaction.TransactionType.INCOME.name().equals(row.getType())));
+
+            points.add(SpendingSeriesPointDTO.builder()
+                    .period(LocalDate.parse(period))
+                    .income(exchangeRateService.sumInCurrency(byIncome.get(true), currency).total())
+                    .expense(exchangeRateService.sumInCurrency(byIncome.get(false), currency).total())
+                    .count(rows.stream().mapToLong(AnalyticsRow::getCount).sum())
+                    .build());
+        });
+        return points;
+    }
+
+    // Merges the per-currency rows of each (id, type) into one converted breakdown, largest first
+    private List<AnalyticsSummaryDTO.Breakdown> toBreakdowns(List<AnalyticsRow> rows,
+                                                             Function<AnalyticsRow, Long> id,
+                                                             Function<AnalyticsRow, String> name,
+                                                             String currency) {
+        Map<String, List<AnalyticsRow>> groups = rows.stream().collect(Collectors.groupingBy(
+                row -> id.apply(row) + ":" + row.getType(), LinkedHashMap::new, Collectors.toList()));
+
+        return groups.values().stream()
+                .map(group -> AnalyticsSummaryDTO.Breakdown.builder()
+                        .id(id.apply(group.get(0)))
+                        .name(name.apply(group.get(0)))
+                        .type(group.get(0).getType())
+                        .total(exchangeRateService.sumInCurrency(group, currency).total())
+                        .count(group.stream().mapToLong(AnalyticsRow::getCount).sum())
+                        .build())
+                .sorted(Comparator.comparing(AnalyticsSummaryDTO.Breakdown::getTotal).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private String baseCurrency(Long userId) {
+        return userRepository.findById(userId)
+                .map(ExchangeRateService::baseCurrencyOf)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.BackgroundJobDTO;
+import com.trangnx.saver.entity.BackgroundJob;
+import com.trangnx.saver.repository.BackgroundJobRepository;
+import com.trangnx.saver.util.TokenHashHelper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Creates background jobs, runs them small-inline or large-on-the-job-pool, and records their outcome
+ */
+@Service
+public class BackgroundJobService {
+
+    private final BackgroundJobRepository backgroundJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor backgroundJobExecutor;
+    private final long inlineThreshold;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public BackgroundJobService(BackgroundJobRepository backgroundJobRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Qualifier("backgroundJobExecutor") TaskExecutor backgroundJobExecutor,
+                                @Value("${jobs.inline-threshold:1000}") long inlineThreshold) {
+        this.backgroundJobRepository = backgroundJobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.backgroundJobExecutor = backgroundJobExecutor;
+        this.inlineThreshold = inlineThreshold;
+    }
+
+    public BackgroundJob create(BackgroundJob job) {
+        job.setStatus(BackgroundJob.JobStatus.PENDING);
+        job.setProcessedItems(0L);
+        return backgroundJobRepository.save(job);
+    }
+
+    /**
+     * Run the work on the caller's thread when it is small, otherwise queue it on the job pool.
+     * Returns the job as it stands afterwards: COMPLETED/FAILED when run inline, PENDING when queued.
+     */
+    public BackgroundJobDTO launch(BackgroundJob job, Runnable work) {
+        Long jobId = job.getId();
+        if (job.getTotalItems() <= inlineThreshold) {
+            execute(jobId, work);
+        } else {
+            backgroundJobExecutor.execute(() -> execute(jobId, work));
+        }
+        return convertToDTO(backgroundJobRepository.findById(jobId).orElseThrow());
+    }
+
+    public void addProgress(Long jobId, long count) {
+        if (count > 0) {
+            backgroundJobRepository.addProgress(jobId, count);
+        }
+    }
+
+    public void updateCheckpoint(Long jobId, String checkpoint) {
+        backgroundJobRepository.updateCheckpoint(jobId, checkpoint);
+    }
+
+    /**
+     * Always queue on the job pool; also used to requeue a job interrupted by a restart
+     */
+    public void submit(Long jobId, Runnable work) {
+        backgroundJobExecutor.execute(() -> execute(jobId, work));
+    }
+
+    public Optional<BackgroundJobDTO> getLatestJob(Long userId, BackgroundJob.JobType type) {
+        return backgroundJobRepository.findFirstByUserIdAndTypeOrderByCreatedAtDesc(userId, type)
+                .map(this::convertToDTO);
+    }
+
+    public BackgroundJobDTO getJob(Long userId, Long jobId) {
+        return backgroundJobRepository.findByIdAndUserId(jobId, userId)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+    }
+
+    /**
+     * Issue a new token that reads the job through {@link #getJobByStatusToken}, replacing any previous one.
+     * Only its hash is stored.
+     */
+    public BackgroundJobDTO issueStatusToken(Long jobId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        BackgroundJob job = transactionTemplate.execute(tx -> {
+            BackgroundJob found = backgroundJobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Job not found"));
+            found.setStatusTokenHash(TokenHashHelper.sha256Hex(token));
+            return backgroundJobRepository.save(found);
+        });
+        BackgroundJobDTO dto = convertToDTO(job);
+        dto.setStatusToken(token);
+        return dto;
+    }
+
+    public BackgroundJobDTO getJobByStatusToken(String statusToken) {
+        return backgroundJobRepository.findByStatusTokenHash(TokenHashHelper.sha256Hex(statusToken))
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+    }
+
+    public List<BackgroundJobDTO> getRecentJobs(Long userId) {
+        return backgroundJobRepository.findTop20ByUserIdOrderByCreatedAtDesc(userId)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private void execute(Long jobId, Runnable work) {
+        updateStatus(jobId, BackgroundJob.JobStatus.RUNNING, null);
+        try {
+            work.run();
+            updateStatus(jobId, BackgroundJob.JobStatus.COMPLETED, null);
+        } catch (RuntimeException e) {
+            System.err.println("ERROR: Background job " + jobId + " failed: " + e.getMessage());
+            updateStatus(jobId, BackgroundJob.JobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void updateStatus(Long jobId, BackgroundJob.JobStatus status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            BackgroundJob job = backgroundJobRepository.findById(jobId).orElseThrow();
+            job.setStatus(status);
+            if (status == BackgroundJob.JobStatus.RUNNING) {
+                job.setStartedAt(LocalDateTime.now());
+            } else {
+                job.setFinishedAt(LocalDateTime.now());
+                job.setErrorMessage(errorMessage);
+            }
+            backgroundJobRepository.save(job);
+        });
+    }
+
+    private BackgroundJobDTO convertToDTO(BackgroundJob job) {
+        int percent = job.getTotalItems() > 0
+                ? (int) Math.min(100, job.getProcessedItems() * 100 / job.getTotalItems())
+                : (job.getStatus() == BackgroundJob.JobStatus.COMPLETED ? 100 : 0);
+        return BackgroundJobDTO.builder()
+                .id(job.getId())
+                .type(job.getType().name())
+                .status(job.getStatus().name())
+                .targetId(job.getTargetId())
+                .totalItems(job.getTotalItems())
+                .processedItems(job.getProcessedItems())
+                .progressPercent(percent)
+                .checkpoint(job.getCheckpoint())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
\ No newline at end of file
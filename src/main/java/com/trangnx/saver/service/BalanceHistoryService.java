@@ -0,0 +1,155 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.BalancePointDTO;
+import com.trangnx.saver.entity.Account;
+import com.trangnx.saver.entity.AccountDailyBalance;
+import com.trangnx.saver.entity.Transaction;
+import com.trangnx.saver.repository.AccountDailyBalanceRepository;
+import com.trangnx.saver.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-account daily balance history, maintained incrementally as transactions are written.
+ * Rows hold cumulative transaction flow; absolute balances are derived on read from the
+ * account's current balance, so manual balance edits never require a rewrite.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BalanceHistoryService {
+
+    private static final String BACKFILL_LOCK = "balance-history-backfill";
+    private static final Duration BACKFILL_LOCK_LEASE = Duration.ofMinutes(30);
+
+    private final AccountDailyBalanceRepository dailyBalanceRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLockService schedulerLockService;
+
+    public void onTransactionCreated(Transaction transaction) {
+        applyChange(transaction.getAccount().getId(), transaction.getTransactionDate(), signedAmount(transaction));
+    }
+
+    public void onTransactionDeleted(Transaction transaction) {
+        applyChange(transaction.getAccount().getId(), transaction.getTransactionDate(), signedAmount(transaction).negate());
+    }
+
+    public void onTransactionUpdated(Transaction before, Transaction after) {
+        Long oldAccountId = before.getAccount().getId();
+        Long newAccountId = after.getAccount().getId();
+
+        if (oldAccountId.equals(newAccountId) && before.getTransactionDate().equals(after.getTransactionDate())) {
+            BigDecimal delta = signedAmount(after).subtract(signedAmount(before));
+            if (delta.signum() != 0) {
+                applyChange(newAccountId, after.getTransactionDate(), delta);
+            }
+            return;
+        }
+
+        onTransactionDeleted(before);
+        onTransactionCreated(after);
+    }
+
+    /**
+     * Get the account balance at the start of the range and at the end of every day in it with transactions
+     */
+    @Transactional(readOnly = true)
+    public List<BalancePointDTO> getBalanceHistory(Long accountId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        // balance(d) = current balance - flow after d
+        BigDecimal totalFlow = dailyBalanceRepository.findFirstByAccountIdOrderByBalanceDateDesc(accountId)
+                .map(AccountDailyBalance::getCumulativeChange)
+                .orElse(BigDecimal.ZERO);
+        BigDecimal offset = account.getBalance().subtract(totalFlow);
+
+        BigDecimal openingFlow = dailyBalanceRepository
+                .findFirstByAccountIdAndBalanceDateLessThanOrderByBalanceDateDesc(accountId, startDate)
+                .map(AccountDailyBalance::getCumulativeChange)
+                .orElse(BigDecimal.ZERO);
+
+        List<AccountDailyBalance> days = dailyBalanceRepository
+                .findByAccountIdAndBalanceDateBetweenOrderByBalanceDate(accountId, startDate, endDate);
+
+        List<BalancePointDTO> points = new ArrayList<>(days.size() + 1);
+        if (days.isEmpty() || days.get(0).getBalanceDate().isAfter(startDate)) {
+            points.add(BalancePointDTO.builder()
+                    .date(startDate)
+                    .balance(offset.add(openingFlow))
+                    .netChange(BigDecimal.ZERO)
+                    .build());
+        }
+        for (AccountDailyBalance day : days) {
+            points.add(BalancePointDTO.builder()
+                    .date(day.getBalanceDate())
+                    .balance(offset.add(day.getCumulativeChange()))
+                    .netChange(day.getNetChange())
+                    .build());
+        }
+        return points;
+    }
+
+    /**
+     * Recompute an account's history from scratch. Holds the account's row lock, like live
+     * changes do, so a transaction committed meanwhile is either in the rebuild or applied on top of it.
+     */
+    public void rebuild(Long accountId) {
+        accountRepository.lockById(accountId);
+        dailyBalanceRepository.deleteByAccountId(accountId);
+        dailyBalanceRepository.insertFromTransactions(accountId);
+    }
+
+    /**
+     * Build history for accounts whose transactions predate it, one account per transaction.
+     * One node at a time; a failure is logged and the remaining accounts are built on the next startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillHistory() {
+        if (!schedulerLockService.tryLock(BACKFILL_LOCK, BACKFILL_LOCK_LEASE)) {
+            return;
+        }
+        int built = 0;
+        try {
+            for (Long accountId : dailyBalanceRepository.findAccountIdsWithoutHistory()) {
+                transactionTemplate.executeWithoutResult(status -> rebuild(accountId));
+                built++;
+            }
+        } catch (Exception e) {
+            System.err.println("ERROR: Balance history backfill stopped after " + built + " accounts: " + e.getMessage());
+        } finally {
+            schedulerLockService.unlock(BACKFILL_LOCK);
+        }
+        if (built > 0) {
+            System.out.println("DEBUG: Built balance history for " + built + " accounts");
+        }
+    }
+
+    private void applyChange(Long accountId, LocalDate date, BigDecimal delta) {
+        accountRepository.lockById(accountId);
+        dailyBalanceRepository.upsertDay(accountId, date, delta);
+        dailyBalanceRepository.shiftAfter(accountId, date, delta);
+    }
+
+    private BigDecimal signedAmount(Transaction transaction) {
+        return transaction.getType() == Transaction.TransactionType.INCOME
+                ? transaction.getAmount()
+                : transaction.getAmount().negate();
+    }
+}
\ No newline at end of file
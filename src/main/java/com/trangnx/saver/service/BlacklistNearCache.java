@@ -0,0 +1,171 @@
+package com.trangnx.saver.service;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local cache of blacklist lookups, kept coherent by Redis client-side caching (RESP3 tracking).
+ * A dedicated connection subscribes in broadcast mode to invalidations for the blacklist prefix,
+ * so both hits and misses can be cached. Whenever tracking is not active the cache is bypassed.
+ */
+@Component
+public class BlacklistNearCache {
+
+    private final boolean enabled;
+    private final RedisURI redisUri;
+    private final ClientResources clientResources;
+    private final Map<String, Boolean> entries;
+
+    // Bumped on every invalidation, so a lookup racing with one is not cached
+    private final AtomicLong epoch = new AtomicLong();
+
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+    private volatile boolean tracking;
+
+    public BlacklistNearCache(ClientResources clientResources,
+                              @Value("${spring.data.redis.host}") String redisHost,
+                              @Value("${spring.data.redis.port}") int redisPort,
+                              @Value("${spring.data.redis.password}") String redisPassword,
+                              @Value("${spring.data.redis.connect-timeout:1000}") long connectTimeoutMs,
+                              @Value("${redis.client-cache.enabled:true}") boolean enabled,
+                              @Value("${redis.client-cache.max-entries:10000}") int maxEntries) {
+        this.clientResources = clientResources;
+        this.enabled = enabled;
+
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(redisHost)
+                .withPort(redisPort)
+                .withTimeout(Duration.ofMillis(connectTimeoutMs));
+        if (redisPassword != null && !redisPassword.isEmpty()) {
+            uri.withPassword(redisPassword.toCharArray());
+        }
+        this.redisUri = uri.build();
+
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Cached result for a key, or null if it has to be read from Redis
+     */
+    public Boolean get(String key) {
+        return tracking ? entries.get(key) : null;
+    }
+
+    /**
+     * Epoch to pass to {@link #put} after reading the key from Redis
+     */
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    public void put(String key, boolean exists, long readEpoch) {
+        // Tracking may have been lost, or the key invalidated, while the value was in flight
+        if (tracking && epoch.get() == readEpoch) {
+            entries.put(key, exists);
+        }
+    }
+
+    public void invalidate(String key) {
+        epoch.incrementAndGet();
+        entries.remove(key);
+    }
+
+    /**
+     * (Re)connect the tracking connection and enable tracking. Tracking does not survive a
+     * reconnect, so this also re-arms it after Redis comes back.
+     */
+    @Scheduled(fixedDelayString = "${redis.client-cache.check-interval-ms:5000}")
+    public synchronized void ensureTracking() {
+        if (!enabled || tracking) {
+            return;
+        }
+        try {
+            if (client == null) {
+                client = RedisClient.create(clientResources, redisUri);
+                client.setOptions(ClientOptions.builder()
+                        .protocolVersion(ProtocolVersion.RESP3)
+                        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                        .build());
+                client.addListener(new RedisConnectionStateListener() {
+                    @Override
+                    public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                        onTrackingLost();
+                    }
+                });
+            }
+            if (connection == null) {
+                connection = client.connect(StringCodec.UTF8);
+                connection.addListener(this::onPushMessage);
+            }
+            if (!connection.isOpen()) {
+                return;
+            }
+            // Start from empty: anything cached before this point may have missed invalidations
+            entries.clear();
+            connection.sync().clientTracking(TrackingArgs.Builder.enabled().bcast().prefixes(TokenBlacklistService.BLACKLIST_PREFIX));
+            tracking = true;
+            System.out.println("DEBUG: Redis client-side caching enabled for blacklist keys");
+        } catch (Exception e) {
+            System.out.println("DEBUG: Redis client-side caching unavailable: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        tracking = false;
+        if (connection != null) {
+            connection.close();
+        }
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    private void onTrackingLost() {
+        tracking = false;
+        epoch.incrementAndGet();
+        entries.clear();
+    }
+
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        epoch.incrementAndGet();
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        // A null key list means the server flushed everything (e.g. FLUSHALL)
+        if (content.size() > 1 && content.get(1) instanceof List<?> keys) {
+            for (Object key : keys) {
+                entries.remove(String.valueOf(key));
+            }
+        } else {
+            entries.clear();
+        }
+    }
+}
\ No newline at end of file
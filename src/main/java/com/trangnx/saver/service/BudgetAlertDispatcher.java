@@ -0,0 +1,150 @@
+package com.trangnx.saver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trangnx.saver.entity.BudgetAlertOutbox;
+import com.trangnx.saver.event.BudgetThresholdCrossedEvent;
+import com.trangnx.saver.repository.BudgetAlertOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox for budget alerts: rows are written with the transaction that crossed
+ * the threshold and delivered later by a batched background dispatcher, so API latency
+ * never depends on the notification channel.
+ */
+@Service
+@RequiredArgsConstructor
+public class BudgetAlertDispatcher {
+
+    private final BudgetAlertOutboxRepository outboxRepository;
+    private final BudgetAlertSink budgetAlertSink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${budget.alerts.batch-size:100}")
+    private int batchSize;
+
+    @Value("${budget.alerts.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${budget.alerts.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${budget.alerts.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${budget.alerts.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${budget.alerts.sent-retention-days:7}")
+    private int sentRetentionDays;
+
+    // Claimed alerts are hidden from other dispatchers this long; if this node dies mid-delivery
+    // they become due again afterwards
+    @Value("${budget.alerts.claim-lease-ms:300000}")
+    private long claimLeaseMs;
+
+    /**
+     * Write the alert into the outbox. Runs synchronously inside the publishing transaction,
+     * so the alert is stored if and only if the transaction that crossed the threshold commits.
+     */
+    @EventListener
+    public void onThresholdCrossed(BudgetThresholdCrossedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(BudgetAlertOutbox.builder()
+                .userId(event.userId())
+                .budgetId(event.budgetId())
+                .payload(toJson(event))
+                .status(BudgetAlertOutbox.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    /**
+     * Drain due alerts in batches. Each batch is claimed with FOR UPDATE SKIP LOCKED in a short
+     * transaction, so several nodes can dispatch concurrently without delivering the same alert twice.
+     * Delivery runs outside any transaction; its outcome is recorded in a second one.
+     */
+    @Scheduled(fixedDelayString = "${budget.alerts.dispatch-interval-ms:5000}")
+    public void dispatchPending() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<BudgetAlertOutbox> batch = transactionTemplate.execute(status -> claimBatch());
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            deliver(batch);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(batch));
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${budget.alerts.cleanup-cron:0 15 4 * * *}")
+    public void purgeSent() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteByStatusAndSentAtBefore(
+                        BudgetAlertOutbox.Status.SENT, LocalDateTime.now().minusDays(sentRetentionDays)));
+        System.out.println("DEBUG: Purged " + deleted + " delivered budget alerts");
+    }
+
+    private List<BudgetAlertOutbox> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BudgetAlertOutbox> batch = outboxRepository.claimDueBatch(now, batchSize);
+        // In flight: the row locks end with this transaction, the lease keeps other nodes off
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(claimLeaseMs));
+        batch.forEach(alert -> alert.setNextAttemptAt(leaseUntil));
+        return batch;
+    }
+
+    private void deliver(List<BudgetAlertOutbox> batch) {
+        for (BudgetAlertOutbox alert : batch) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                budgetAlertSink.deliver(objectMapper.readValue(alert.getPayload(), BudgetThresholdCrossedEvent.class));
+                alert.setStatus(BudgetAlertOutbox.Status.SENT);
+                alert.setSentAt(now);
+                alert.setLastError(null);
+            } catch (Exception e) {
+                markFailedAttempt(alert, e, now);
+            }
+        }
+    }
+
+    // Exponential backoff: initial, 2x, 4x, ... capped at maxBackoffMs; gives up after maxAttempts
+    private void markFailedAttempt(BudgetAlertOutbox alert, Exception e, LocalDateTime now) {
+        int attempts = alert.getAttempts() + 1;
+        alert.setAttempts(attempts);
+
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        alert.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+
+        if (attempts >= maxAttempts) {
+            alert.setStatus(BudgetAlertOutbox.Status.FAILED);
+            System.out.println("DEBUG: Giving up on budget alert " + alert.getId() + " after " + attempts + " attempts");
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        alert.setNextAttemptAt(now.plus(Duration.ofMillis(backoff)));
+    }
+
+    private String toJson(BudgetThresholdCrossedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize budget alert", e);
+        }
+    }
+}
\ No newline at end of file
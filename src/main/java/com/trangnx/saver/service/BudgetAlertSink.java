@@ -0,0 +1,12 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.event.BudgetThresholdCrossedEvent;
+
+/**
+ * Delivery channel for budget alerts (push, email, ...).
+ * Implementations may throw to signal a retryable failure.
+ */
+public interface BudgetAlertSink {
+
+    void deliver(BudgetThresholdCrossedEvent alert) throws Exception;
+}
\ No newline at end of file
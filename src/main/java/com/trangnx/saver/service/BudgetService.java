@@ -0,0 +1,332 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.BudgetDTO;
+import com.trangnx.saver.entity.Budget;
+import com.trangnx.saver.entity.Category;
+import com.trangnx.saver.entity.Transaction;
+import com.trangnx.saver.entity.User;
+import com.trangnx.saver.event.BudgetThresholdCrossedEvent;
+import com.trangnx.saver.repository.BudgetRepository;
+import com.trangnx.saver.repository.CategoryRepository;
+import com.trangnx.saver.repository.CurrencyTotal;
+import com.trangnx.saver.repository.TransactionRepository;
+import com.trangnx.saver.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Budgets are kept in the user's base currency; spending in other currencies is converted at the
+ * current rate when it is counted
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BudgetService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final BudgetRepository budgetRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExchangeRateService exchangeRateService;
+
+    public List<BudgetDTO> getAllBudgets(Long userId) {
+        return budgetRepository.findByUserIdOrderByStartDateDesc(userId)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get active budgets covering today, most used first
+     */
+    public List<BudgetDTO> getCurrentUsage(Long userId) {
+        return budgetRepository.findActiveByUserAndDate(userId, LocalDate.now())
+                .stream()
+                .map(this::convertToDTO)
+                .sorted(Comparator.comparing(BudgetDTO::getUsagePercent).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public BudgetDTO getBudgetById(Long id) {
+        Budget budget = budgetRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Budget not found"));
+        return convertToDTO(budget);
+    }
+
+    public BudgetDTO createBudget(Long userId, BudgetDTO dto) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Budget.BudgetPeriod period = Budget.BudgetPeriod.valueOf(dto.getPeriod());
+        LocalDate startDate = dto.getStartDate() != null ? dto.getStartDate() : LocalDate.now();
+
+        Budget budget = Budget.builder()
+                .user(user)
+                .category(resolveCategory(dto.getCategoryId()))
+                .name(dto.getName())
+                .amount(dto.getAmount())
+                .period(period)
+                .startDate(startDate)
+                .endDate(dto.getEndDate() != null ? dto.getEndDate() : calculateEndDate(period, startDate))
+                .alertThreshold(dto.getAlertThreshold() != null ? dto.getAlertThreshold() : 80)
+                .isActive(dto.getIsActive() != null ? dto.getIsActive() : true)
+                .spent(BigDecimal.ZERO)
+                .build();
+
+        if (budget.getEndDate().isBefore(budget.getStartDate())) {
+            throw new IllegalArgumentException("Budget end date must not be before start date");
+        }
+
+        // One-off aggregate to seed the counter; afterwards it is maintained incrementally
+        recalculateSpent(budget);
+
+        Budget saved = budgetRepository.save(budget);
+        return convertToDTO(saved);
+    }
+
+    public BudgetDTO updateBudget(Long id, BudgetDTO dto) {
+        Budget budget = budgetRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Budget not found"));
+
+        boolean windowChanged = false;
+
+        if (dto.getName() != null) budget.setName(dto.getName());
+        if (dto.getAmount() != null) budget.setAmount(dto.getAmount());
+        if (dto.getAlertThreshold() != null) budget.setAlertThreshold(dto.getAlertThreshold());
+        if (dto.getIsActive() != null) {
+            // The counter is only maintained while active, so a reactivated budget starts from a fresh aggregate
+            if (dto.getIsActive() && !Boolean.TRUE.equals(budget.getIsActive())) {
+                windowChanged = true;
+            }
+            budget.setIsActive(dto.getIsActive());
+        }
+        if (dto.getPeriod() != null) budget.setPeriod(Budget.BudgetPeriod.valueOf(dto.getPeriod()));
+        if (dto.getStartDate() != null) {
+            budget.setStartDate(dto.getStartDate());
+            windowChanged = true;
+        }
+        if (dto.getEndDate() != null) {
+            budget.setEndDate(dto.getEndDate());
+            windowChanged = true;
+        } else if (dto.getPeriod() != null || dto.getStartDate() != null) {
+            budget.setEndDate(calculateEndDate(budget.getPeriod(), budget.getStartDate()));
+            windowChanged = true;
+        }
+        if (dto.getCategoryId() != null) {
+            budget.setCategory(resolveCategory(dto.getCategoryId()));
+            windowChanged = true;
+        }
+
+        if (budget.getEndDate().isBefore(budget.getStartDate())) {
+            throw new IllegalArgumentException("Budget end date must not be before start date");
+        }
+
+        if (windowChanged) {
+            recalculateSpent(budget);
+        }
+        refreshAlertState(budget);
+
+        Budget updated = budgetRepository.save(budget);
+        return convertToDTO(updated);
+    }
+
+    public void deleteBudget(Long id) {
+        budgetRepository.deleteById(id);
+    }
+
+    /**
+     * Add a newly created expense to the running spend of every active budget it falls into
+     */
+    public void onTransactionCreated(Transaction transaction) {
+        applySpend(transaction, transaction.getAmount());
+    }
+
+    /**
+     * Remove a deleted expense from the running spend of every active budget it fell into
+     */
+    public void onTransactionDeleted(Transaction transaction) {
+        applySpend(transaction, transaction.getAmount().negate());
+    }
+
+    /**
+     * Move an edited expense between budgets. If only the amount changed, the difference is applied once.
+     */
+    public void onTransactionUpdated(Transaction before, Transaction after) {
+        boolean sameBudgets = before.getType() == after.getType()
+                && before.getCategory().getId().equals(after.getCategory().getId())
+                && before.getTransactionDate().equals(after.getTransactionDate())
+                // A delta is only meaningful in one currency; a move between currencies is remove + add
+                && before.getAccount().getCurrency().equals(after.getAccount().getCurrency());
+
+        if (sameBudgets) {
+            BigDecimal delta = after.getAmount().subtract(before.getAmount());
+            if (delta.signum() != 0) {
+                applySpend(after, delta);
+            }
+            return;
+        }
+
+        onTransactionDeleted(before);
+        onTransactionCreated(after);
+    }
+
+    /**
+     * Re-sum every active budget of a user; used after bulk changes that bypass the incremental path
+     */
+    public void recalculateActiveBudgets(Long userId) {
+        List<Budget> budgets = budgetRepository.findByUserIdOrderByStartDateDesc(userId)
+                .stream()
+                .filter(Budget::getIsActive)
+                .collect(Collectors.toList());
+        budgets.forEach(this::recalculateSpent);
+        budgetRepository.saveAll(budgets);
+    }
+
+    // Touches only the active budgets matching the transaction's category and date,
+    // never re-sums transactions
+    private void applySpend(Transaction transaction, BigDecimal delta) {
+        if (transaction.getType() != Transaction.TransactionType.EXPENSE) {
+            return;
+        }
+
+        String currency = ExchangeRateService.baseCurrencyOf(transaction.getUser());
+        String from = transaction.getAccount().getCurrency();
+        BigDecimal converted = exchangeRateService.convertIfPossible(delta, from, currency).orElse(null);
+        if (converted == null) {
+            // Same as the recalculation, which leaves currencies without a rate out of the sum
+            System.out.println("DEBUG: No exchange rate from " + from + " to " + currency
+                    + ", transaction " + transaction.getId() + " not counted in budgets");
+            return;
+        }
+
+        List<Budget> budgets = budgetRepository.findActiveForUpdate(
+                transaction.getUser().getId(),
+                transaction.getCategory().getId(),
+                transaction.getTransactionDate());
+
+        for (Budget budget : budgets) {
+            BigDecimal before = budget.getSpent();
+            BigDecimal after = before.add(converted);
+            budget.setSpent(after);
+
+            boolean wasOverThreshold = isOverThreshold(budget, before);
+            boolean isOverThreshold = isOverThreshold(budget, after);
+
+            if (!wasOverThreshold && isOverThreshold) {
+                budget.setAlertTriggeredAt(LocalDateTime.now());
+                publishAlert(budget, false);
+            } else if (wasOverThreshold && !isOverThreshold) {
+                budget.setAlertTriggeredAt(null);
+            }
+
+            if (before.compareTo(budget.getAmount()) <= 0 && after.compareTo(budget.getAmount()) > 0) {
+                publishAlert(budget, true);
+            }
+        }
+
+        budgetRepository.saveAll(budgets);
+    }
+
+    private void publishAlert(Budget budget, boolean exceeded) {
+        System.out.println("DEBUG: Budget " + budget.getId() + (exceeded ? " exceeded" : " reached alert threshold")
+                + " - spent " + budget.getSpent() + " of " + budget.getAmount());
+
+        eventPublisher.publishEvent(new BudgetThresholdCrossedEvent(
+                budget.getId(),
+                budget.getUser().getId(),
+                budget.getName(),
+                budget.getAmount(),
+                budget.getSpent(),
+                budget.getAlertThreshold(),
+                exceeded
+        ));
+    }
+
+    private void recalculateSpent(Budget budget) {
+        Long userId = budget.getUser().getId();
+        List<CurrencyTotal> totals = budget.getCategory() != null
+                ? transactionRepository.sumAmountByUserAndCategoryAndTypeAndDateRangeGroupByCurrency(
+                        userId, budget.getCategory().getId(), Transaction.TransactionType.EXPENSE,
+                        budget.getStartDate(), budget.getEndDate())
+                : transactionRepository.sumAmountByUserAndTypeAndDateRangeGroupByCurrency(
+                        userId, Transaction.TransactionType.EXPENSE,
+                        budget.getStartDate(), budget.getEndDate());
+
+        budget.setSpent(exchangeRateService.sumInCurrency(
+                totals, ExchangeRateService.baseCurrencyOf(budget.getUser())).total());
+        refreshAlertState(budget);
+    }
+
+    // Re-evaluate the alert flag after amount, threshold or window edits; these don't raise alerts
+    private void refreshAlertState(Budget budget) {
+        if (!isOverThreshold(budget, budget.getSpent())) {
+            budget.setAlertTriggeredAt(null);
+        } else if (budget.getAlertTriggeredAt() == null) {
+            budget.setAlertTriggeredAt(LocalDateTime.now());
+        }
+    }
+
+    private boolean isOverThreshold(Budget budget, BigDecimal spent) {
+        int threshold = budget.getAlertThreshold() != null ? budget.getAlertThreshold() : 100;
+        BigDecimal limit = budget.getAmount().multiply(BigDecimal.valueOf(threshold)).divide(HUNDRED);
+        return spent.compareTo(limit) >= 0;
+    }
+
+    private Category resolveCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        if (category.getType() != Category.TransactionType.EXPENSE) {
+            throw new IllegalArgumentException("Budgets can only track expense categories");
+        }
+        return category;
+    }
+
+    private LocalDate calculateEndDate(Budget.BudgetPeriod period, LocalDate startDate) {
+        return switch (period) {
+            case DAILY -> startDate;
+            case WEEKLY -> startDate.plusWeeks(1).minusDays(1);
+            case MONTHLY -> startDate.plusMonths(1).minusDays(1);
+            case YEARLY -> startDate.plusYears(1).minusDays(1);
+            case CUSTOM -> throw new IllegalArgumentException("End date is required for custom budgets");
+        };
+    }
+
+    private BudgetDTO convertToDTO(Budget budget) {
+        BigDecimal usagePercent = budget.getAmount().signum() > 0
+                ? budget.getSpent().multiply(HUNDRED).divide(budget.getAmount(), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return BudgetDTO.builder()
+                .id(budget.getId())
+                .name(budget.getName())
+                .categoryId(budget.getCategory() != null ? budget.getCategory().getId() : null)
+                .categoryName(budget.getCategory() != null ? budget.getCategory().getName() : null)
+                .amount(budget.getAmount())
+                .period(budget.getPeriod().name())
+                .startDate(budget.getStartDate())
+                .endDate(budget.getEndDate())
+                .alertThreshold(budget.getAlertThreshold())
+                .isActive(budget.getIsActive())
+                .spent(budget.getSpent())
+                .remaining(budget.getAmount().subtract(budget.getSpent()))
+                .usagePercent(usagePercent)
+                .alertTriggered(budget.getAlertTriggeredAt() != null)
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.BackgroundJobDTO;
+import com.trangnx.saver.entity.Account;
+import com.trangnx.saver.entity.BackgroundJob;
+import com.trangnx.saver.entity.Category;
+import com.trangnx.saver.entity.SyncTombstone;
+import com.trangnx.saver.event.TransactionChangedEvent;
+import com.trangnx.saver.repository.AccountRepository;
+import com.trangnx.saver.repository.AccountRowCount;
+import com.trangnx.saver.repository.BudgetRepository;
+import com.trangnx.saver.repository.CategoryRepository;
+import com.trangnx.saver.repository.RecurringTransactionRepository;
+import com.trangnx.saver.repository.SyncTombstoneRepository;
+import com.trangnx.saver.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes accounts and categories together with their transactions using set-based SQL in bounded
+ * chunks (one transaction per chunk), never loading child rows into the persistence context.
+ * Balance history of the accounts a chunk touches is rebuilt in that chunk's transaction. The final
+ * transaction locks the account/category row, so nothing new can reference it, and drains the rows
+ * written while the chunks ran before deleting it.
+ */
+@Service
+public class BulkDeleteService {
+
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final BudgetService budgetService;
+    private final BalanceHistoryService balanceHistoryService;
+    private final BackgroundJobService backgroundJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public BulkDeleteService(AccountRepository accountRepository,
+                             CategoryRepository categoryRepository,
+                             TransactionRepository transactionRepository,
+                             RecurringTransactionRepository recurringTransactionRepository,
+                             BudgetRepository budgetRepository,
+                             SyncTombstoneRepository syncTombstoneRepository,
+                             BudgetService budgetService,
+                             BalanceHistoryService balanceHistoryService,
+                             BackgroundJobService backgroundJobService,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${jobs.bulk-delete.batch-size:1000}") int batchSize) {
+        this.accountRepository = accountRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionRepository = transactionRepository;
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.budgetService = budgetService;
+        this.balanceHistoryService = balanceHistoryService;
+        this.backgroundJobService = backgroundJobService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    public enum DeleteStrategy {
+        // Move transactions (and recurring templates) to another account/category, then delete
+        REASSIGN,
+        // Delete transactions (and recurring templates) together with the account/category
+        CASCADE
+    }
+
+    /**
+     * Delete an account. Required strategy when the account has transactions.
+     * Small accounts are processed before returning; large ones run as a background job.
+     */
+    public BackgroundJobDTO deleteAccount(Long userId, Long accountId, DeleteStrategy strategy, Long reassignToId) {
+        Account account = accountRepository.findById(accountId)
+                .filter(a -> a.getUser().getId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        long total = transactionRepository.countByAccountId(accountId);
+        DeleteStrategy resolved = resolveStrategy(strategy, total, "Account");
+
+        if (resolved == DeleteStrategy.REASSIGN) {
+            Account target = accountRepository.findById(requireTarget(reassignToId, accountId))
+                    .filter(a -> a.getUser().getId().equals(userId))
+                    .orElseThrow(() -> new RuntimeException("Target account not found"));
+            if (!target.getCurrency().equals(account.getCurrency())) {
+                throw new IllegalArgumentException("Target account must use the same currency");
+            }
+        }
+
+        BackgroundJob job = backgroundJobService.create(BackgroundJob.builder()
+                .userId(userId)
+                .type(BackgroundJob.JobType.ACCOUNT_DELETE)
+                .targetId(accountId)
+                .strategy(resolved.name())
+                .reassignToId(reassignToId)
+                .totalItems(total)
+                .build());
+
+        IntSupplier chunk = resolved == DeleteStrategy.REASSIGN
+                ? () -> {
+                    int moved = transactionRepository.reassignChunkToAccount(accountId, reassignToId, batchSize);
+                    if (moved > 0) {
+                        balanceHistoryService.rebuild(reassignToId);
+                    }
+                    return moved;
+                }
+                : () -> transactionRepository.deleteChunkByAccount(accountId, batchSize);
+
+        return backgroundJobService.launch(job, () -> {
+            processChunks(job.getId(), chunk);
+
+            transactionTemplate.executeWithoutResult(tx -> {
+                accountRepository.lockById(accountId);
+                drainChunks(job.getId(), chunk);
+
+                if (resolved == DeleteStrategy.REASSIGN) {
+                    recurringTransactionRepository.reassignAccount(accountId, reassignToId);
+                } else {
+                    recurringTransactionRepository.deleteByAccountId(accountId);
+                }
+                accountRepository.deleteById(accountId);
+                syncTombstoneRepository.save(SyncTombstone.of(userId, SyncTombstone.EntityType.ACCOUNT, accountId));
+                budgetService.recalculateActiveBudgets(userId);
+            });
+
+            publishBulkChange(userId, accountId, resolved);
+        });
+    }
+
+    /**
+     * Delete a category. REASSIGN needs a target category of the same type; its budgets move with it.
+     * CASCADE also deletes the category's budgets.
+     */
+    public BackgroundJobDTO deleteCategory(Long userId, Long categoryId, DeleteStrategy strategy, Long reassignToId) {
+        Category category = categoryRepository.findById(categoryId)
+                .filter(c -> c.getUser().getId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+
+        long total = transactionRepository.countByCategoryId(categoryId);
+        DeleteStrategy resolved = resolveStrategy(strategy, total, "Category");
+
+        if (resolved == DeleteStrategy.REASSIGN) {
+            Category target = categoryRepository.findById(requireTarget(reassignToId, categoryId))
+                    .filter(c -> c.getUser().getId().equals(userId))
+                    .orElseThrow(() -> new RuntimeException("Target category not found"));
+            if (target.getType() != category.getType()) {
+                throw new IllegalArgumentException("Target category must have the same type");
+            }
+        }
+
+        BackgroundJob job = backgroundJobService.create(BackgroundJob.builder()
+                .userId(userId)
+                .type(BackgroundJob.JobType.CATEGORY_DELETE)
+                .targetId(categoryId)
+                .strategy(resolved.name())
+                .reassignToId(reassignToId)
+                .totalItems(total)
+                .build());
+
+        IntSupplier chunk = resolved == DeleteStrategy.REASSIGN
+                ? () -> transactionRepository.reassignChunkToCategory(categoryId, reassignToId, batchSize)
+                : () -> {
+                    List<AccountRowCount> deleted = transactionRepository.deleteChunkByCategory(categoryId, batchSize);
+                    deleted.forEach(row -> balanceHistoryService.rebuild(row.getAccountId()));
+                    return deleted.stream().mapToInt(row -> row.getCount().intValue()).sum();
+                };
+
+        return backgroundJobService.launch(job, () -> {
+            processChunks(job.getId(), chunk);
+
+            transactionTemplate.executeWithoutResult(tx -> {
+                categoryRepository.lockById(categoryId);
+                drainChunks(job.getId(), chunk);
+
+                if (resolved == DeleteStrategy.REASSIGN) {
+                    recurringTransactionRepository.reassignCategory(categoryId, reassignToId);
+                    budgetRepository.reassignCategory(categoryId, reassignToId);
+                } else {
+                    recurringTransactionRepository.deleteByCategoryId(categoryId);
+                    budgetRepository.deleteByCategoryId(categoryId);
+                }
+                categoryRepository.deleteById(categoryId);
+                syncTombstoneRepository.save(SyncTombstone.of(userId, SyncTombstone.EntityType.CATEGORY, categoryId));
+                budgetService.recalculateActiveBudgets(userId);
+            });
+
+            publishBulkChange(userId, null, resolved);
+        });
+    }
+
+    // One transaction per chunk, with the job's progress committed together with the chunk
+    private void processChunks(Long jobId, IntSupplier chunk) {
+        while (true) {
+            Integer processed = transactionTemplate.execute(tx -> processChunk(jobId, chunk));
+            if (processed == null || processed == 0) {
+                return;
+            }
+        }
+    }
+
+    // Rows written since the last chunk, in the caller's transaction; usually none or one chunk
+    private void drainChunks(Long jobId, IntSupplier chunk) {
+        int processed;
+        do {
+            processed = processChunk(jobId, chunk);
+        } while (processed > 0);
+    }
+
+    private int processChunk(Long jobId, IntSupplier chunk) {
+        int count = chunk.getAsInt();
+        backgroundJobService.addProgress(jobId, count);
+        return count;
+    }
+
+    private DeleteStrategy resolveStrategy(DeleteStrategy strategy, long transactionsCount, String resource) {
+        if (strategy != null) {
+            return strategy;
+        }
+        if (transactionsCount > 0) {
+            throw new IllegalArgumentException(resource + " has " + transactionsCount +
+                    " transactions; choose strategy REASSIGN or CASCADE");
+        }
+        return DeleteStrategy.CASCADE;
+    }
+
+    private Long requireTarget(Long reassignToId, Long sourceId) {
+        if (reassignToId == null || reassignToId.equals(sourceId)) {
+            throw new IllegalArgumentException("reassignTo must be another resource of the same user");
+        }
+        return reassignToId;
+    }
+
+    // Many transactions changed at once, so no single transaction id
+    private void publishBulkChange(Long userId, Long accountId, DeleteStrategy strategy) {
+        eventPublisher.publishEvent(new TransactionChangedEvent(
+                userId,
+                null,
+                accountId,
+                null,
+                strategy == DeleteStrategy.REASSIGN
+                        ? TransactionChangedEvent.ChangeType.UPDATED
+                        : TransactionChangedEvent.ChangeType.DELETED
+        ));
+    }
+}
\ No newline at end of file
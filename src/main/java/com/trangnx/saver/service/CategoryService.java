@@ -5,10 +5,12 @@ import com.trangnx.saver.entity.Category;
 import com.trangnx.saver.entity.User;
 import com.trangnx.saver.repository.CategoryRepository;
 import com.trangnx.saver.repository.UserRepository;
+import com.trangnx.saver.util.ETagHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +22,7 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
 
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getAllCategories(Long userId) {
         return categoryRepository.findByUserId(userId)
                 .stream()
@@ -27,6 +30,23 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Weak ETag of the user's categories list, computed without loading any categories
+     */
+    @Transactional(readOnly = true)
+    public String getCategoriesETag(Long userId) {
+        return ETagHelper.weakListETag("categories", categoryRepository.findListVersionByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryDTO> getCategoriesChangedSince(Long userId, LocalDateTime since) {
+        return categoryRepository.findByUserIdAndUpdatedAtAfter(userId, since)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
     public CategoryDTO getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
@@ -56,10 +76,6 @@ public class CategoryService {
         return convertToDTO(saved);
     }
 
-    public void deleteCategory(Long id) {
-        categoryRepository.deleteById(id);
-    }
-
     private CategoryDTO convertToDTO(Category category) {
         return CategoryDTO.builder()
                 .id(category.getId())
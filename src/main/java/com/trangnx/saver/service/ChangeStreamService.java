@@ -0,0 +1,249 @@
+package com.trangnx.saver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trangnx.saver.dto.ChangeEventDTO;
+import com.trangnx.saver.event.TransactionChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes transaction and balance changes to users' open SSE connections.
+ * Committed changes are published to a Redis channel and every node delivers them to the
+ * connections it holds, so a change made through one node reaches devices connected to another.
+ * Events are queued per connection and written on a dedicated pool, in order; a connection whose
+ * queue backs up is closed, and the client reconnects and refetches.
+ */
+@Service
+public class ChangeStreamService implements MessageListener {
+
+    static final String CHANNEL = "changes:transactions";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor sendExecutor;
+    private final long timeoutMs;
+    private final int maxConnectionsPerUser;
+    private final int maxPendingEvents;
+
+    private final Map<Long, List<Connection>> emitters = new ConcurrentHashMap<>();
+
+    public ChangeStreamService(RedisTemplate<String, String> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Qualifier("changeStreamExecutor") TaskExecutor sendExecutor,
+                               @Value("${changes.stream.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${changes.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                               @Value("${changes.stream.max-pending-events:100}") int maxPendingEvents) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.sendExecutor = sendExecutor;
+        this.timeoutMs = timeoutMs;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.maxPendingEvents = maxPendingEvents;
+        Gauge.builder("changes.stream.connections", emitters,
+                        map -> map.values().stream().mapToInt(List::size).sum())
+                .description("Open change streams on this node")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Open a change stream for a user. The oldest connection is closed when the user has too many.
+     */
+    public SseEmitter openStream(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter);
+        List<Connection> userConnections = emitters.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+        userConnections.add(connection);
+        while (userConnections.size() > maxConnectionsPerUser) {
+            Connection oldest = userConnections.remove(0);
+            oldest.emitter.complete();
+        }
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        // Flush headers right away so clients know the stream is open
+        enqueue(connection, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    // After commit, so devices never refetch state that could still roll back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        ChangeEventDTO change = ChangeEventDTO.builder()
+                .userId(event.userId())
+                .transactionId(event.transactionId())
+                .accountId(event.accountId())
+                .accountBalance(event.accountBalance())
+                .changeType(event.changeType().name())
+                .previousAccountId(event.previousAccountId())
+                .previousAccountBalance(event.previousAccountBalance())
+                .occurredAt(LocalDateTime.now())
+                .build();
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(change));
+        } catch (Exception e) {
+            // Redis down: at least this node's connections get the change
+            System.err.println("ERROR: Failed to publish change event, delivering locally: " + e.getMessage());
+            deliver(change);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            ChangeEventDTO change = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), ChangeEventDTO.class);
+            deliver(change);
+        } catch (Exception e) {
+            System.err.println("ERROR: Invalid change event message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Comment lines keep proxies from closing idle streams and reveal dead connections
+     */
+    @Scheduled(fixedDelayString = "${changes.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        emitters.values().forEach(userConnections -> {
+            for (Connection connection : userConnections) {
+                enqueue(connection, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    private void deliver(ChangeEventDTO change) {
+        List<Connection> userConnections = emitters.get(change.getUserId());
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        TransactionChange transactionChange = new TransactionChange(
+                change.getTransactionId(), change.getAccountId(), change.getChangeType(), change.getOccurredAt());
+        BalanceChange balanceChange = change.getAccountBalance() != null
+                ? new BalanceChange(change.getAccountId(), change.getAccountBalance())
+                : null;
+        BalanceChange previousBalanceChange = change.getPreviousAccountBalance() != null
+                ? new BalanceChange(change.getPreviousAccountId(), change.getPreviousAccountBalance())
+                : null;
+
+        for (Connection connection : userConnections) {
+            enqueue(connection, SseEmitter.event().name("transaction").data(transactionChange));
+            if (balanceChange != null) {
+                enqueue(connection, SseEmitter.event().name("balance").data(balanceChange));
+            }
+            if (previousBalanceChange != null) {
+                enqueue(connection, SseEmitter.event().name("balance").data(previousBalanceChange));
+            }
+        }
+    }
+
+    // Never blocks the caller: the event is written by the send pool, after those queued before it
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.pendingCount.incrementAndGet() > maxPendingEvents) {
+            close(connection, new IllegalStateException("Change stream client too slow"));
+            return;
+        }
+        connection.pending.add(event);
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (!connection.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> drain(connection));
+        } catch (RuntimeException e) {
+            // Send pool saturated
+            connection.draining.set(false);
+            close(connection, e);
+        }
+    }
+
+    // At most one drain per connection at a time, so its events go out in order
+    private void drain(Connection connection) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = connection.pending.poll()) != null) {
+                connection.pendingCount.decrementAndGet();
+                connection.emitter.send(event);
+            }
+        } catch (Exception e) {
+            // Client went away
+            connection.draining.set(false);
+            close(connection, e);
+            return;
+        }
+        connection.draining.set(false);
+        // An event may have been queued after the last poll but before draining was cleared
+        if (!connection.pending.isEmpty()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    private void close(Connection connection, Exception cause) {
+        remove(connection);
+        connection.pending.clear();
+        connection.emitter.completeWithError(cause);
+    }
+
+    private void remove(Connection connection) {
+        emitters.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private static final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+
+    // Bulk changes have no transactionId; clients refetch the list
+    private record TransactionChange(Long transactionId, Long accountId, String changeType, LocalDateTime occurredAt) {}
+
+    private record BalanceChange(Long accountId, BigDecimal balance) {}
+}
\ No newline at end of file
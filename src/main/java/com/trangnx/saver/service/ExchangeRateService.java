@@ -0,0 +1,121 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.entity.User;
+import com.trangnx.saver.repository.CurrencyTotal;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory FX rate table. Readers use an immutable snapshot; a refresh builds a new one and
+ * swaps it in, so conversions never lock or see a half-loaded table.
+ */
+@Service
+public class ExchangeRateService {
+
+    public static final String DEFAULT_CURRENCY = "VND";
+
+    private static final MathContext RATE_PRECISION = MathContext.DECIMAL64;
+
+    private final FxRateProvider fxRateProvider;
+    private final AtomicReference<Map<String, BigDecimal>> rates = new AtomicReference<>(Map.of());
+
+    public ExchangeRateService(FxRateProvider fxRateProvider) {
+        this.fxRateProvider = fxRateProvider;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${fx.refresh-interval-ms:3600000}", initialDelayString = "${fx.refresh-interval-ms:3600000}")
+    public void refresh() {
+        try {
+            Map<String, BigDecimal> loaded = Map.copyOf(fxRateProvider.loadRates());
+            rates.set(loaded);
+            System.out.println("DEBUG: Loaded " + loaded.size() + " exchange rates");
+        } catch (RuntimeException e) {
+            // Keep serving the previous table
+            System.err.println("ERROR: Failed to refresh exchange rates: " + e.getMessage());
+        }
+    }
+
+    public boolean isSupported(String currency) {
+        return currency != null && rates.get().containsKey(currency.toUpperCase());
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to) {
+        return convert(amount, from, to, rates.get());
+    }
+
+    /**
+     * Convert an amount, or empty if either currency has no rate
+     */
+    public Optional<BigDecimal> convertIfPossible(BigDecimal amount, String from, String to) {
+        Map<String, BigDecimal> snapshot = rates.get();
+        if (!isConvertible(from, to, snapshot)) {
+            return Optional.empty();
+        }
+        return Optional.of(convert(amount, from, to, snapshot).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    public static String baseCurrencyOf(User user) {
+        return user.getBaseCurrency() != null ? user.getBaseCurrency() : DEFAULT_CURRENCY;
+    }
+
+    /**
+     * Sum per-currency totals in the target currency: one rate lookup per currency, not per row.
+     * Totals in a currency without a rate (e.g. dropped from the rate feed) are left out of the sum
+     * and returned separately, so one legacy account can't fail the whole calculation.
+     */
+    public CurrencySum sumInCurrency(List<? extends CurrencyTotal> totals, String to) {
+        Map<String, BigDecimal> snapshot = rates.get();
+        BigDecimal sum = BigDecimal.ZERO;
+        Map<String, BigDecimal> unconverted = new TreeMap<>();
+        for (CurrencyTotal total : totals) {
+            if (total.getTotal() == null) {
+                continue;
+            }
+            if (isConvertible(total.getCurrency(), to, snapshot)) {
+                sum = sum.add(convert(total.getTotal(), total.getCurrency(), to, snapshot));
+            } else {
+                unconverted.merge(total.getCurrency(), total.getTotal(), BigDecimal::add);
+            }
+        }
+        if (!unconverted.isEmpty()) {
+            System.out.println("DEBUG: No exchange rate to " + to + " for " + unconverted.keySet() + ", left unconverted");
+        }
+        return new CurrencySum(sum.setScale(2, RoundingMode.HALF_UP), unconverted);
+    }
+
+    private boolean isConvertible(String from, String to, Map<String, BigDecimal> snapshot) {
+        return from.equalsIgnoreCase(to)
+                || (snapshot.containsKey(from.toUpperCase()) && snapshot.containsKey(to.toUpperCase()));
+    }
+
+    private BigDecimal convert(BigDecimal amount, String from, String to, Map<String, BigDecimal> snapshot) {
+        if (from.equalsIgnoreCase(to)) {
+            return amount;
+        }
+        BigDecimal fromRate = rate(from, snapshot);
+        BigDecimal toRate = rate(to, snapshot);
+        return amount.multiply(toRate).divide(fromRate, RATE_PRECISION);
+    }
+
+    public record CurrencySum(BigDecimal total, Map<String, BigDecimal> unconverted) {}
+
+    private BigDecimal rate(String currency, Map<String, BigDecimal> snapshot) {
+        BigDecimal rate = snapshot.get(currency.toUpperCase());
+        if (rate == null) {
+            throw new RuntimeException("Exchange rate not found for currency: " + currency);
+        }
+        return rate;
+    }
+}
\ No newline at end of file
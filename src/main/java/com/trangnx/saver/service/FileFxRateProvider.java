@@ -0,0 +1,51 @@
+package com.trangnx.saver.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Reads rates from a properties file (CURRENCY=rate). Defaults to the bundled classpath table;
+ * point fx.rates.location at a file: URL to use a table that is updated out of band.
+ */
+@Component
+public class FileFxRateProvider implements FxRateProvider {
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    public FileFxRateProvider(ResourceLoader resourceLoader,
+                              @Value("${fx.rates.location:classpath:fx-rates.properties}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    @Override
+    public Map<String, BigDecimal> loadRates() {
+        Resource resource = resourceLoader.getResource(location);
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read exchange rates from " + location, e);
+        }
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (String currency : properties.stringPropertyNames()) {
+            BigDecimal rate = new BigDecimal(properties.getProperty(currency).trim());
+            if (rate.signum() <= 0) {
+                throw new RuntimeException("Invalid exchange rate for " + currency + ": " + rate);
+            }
+            rates.put(currency.trim().toUpperCase(), rate);
+        }
+        return rates;
+    }
+}
\ No newline at end of file
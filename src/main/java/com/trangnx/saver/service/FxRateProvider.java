@@ -0,0 +1,13 @@
+package com.trangnx.saver.service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Source of exchange rates. Rates are units of each currency per one unit of a common pivot
+ * currency, so any pair converts as amount / rate(from) * rate(to).
+ */
+public interface FxRateProvider {
+
+    Map<String, BigDecimal> loadRates();
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.event.BudgetThresholdCrossedEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local sink that logs alerts and keeps the most recent ones in memory (for tests and development)
+ */
+public class LoggingBudgetAlertSink implements BudgetAlertSink {
+
+    private static final int MAX_RETAINED = 100;
+
+    private final Deque<BudgetThresholdCrossedEvent> delivered = new ArrayDeque<>();
+
+    @Override
+    public synchronized void deliver(BudgetThresholdCrossedEvent alert) {
+        System.out.println("DEBUG: Budget alert for user " + alert.userId() + " - '" + alert.budgetName() + "' "
+                + (alert.exceeded() ? "exceeded" : "reached " + alert.alertThreshold() + "%")
+                + " (spent " + alert.spent() + " of " + alert.amount() + ")");
+
+        if (delivered.size() == MAX_RETAINED) {
+            delivered.removeFirst();
+        }
+        delivered.addLast(alert);
+    }
+
+    /**
+     * Get delivered alerts, oldest first
+     */
+    public synchronized List<BudgetThresholdCrossedEvent> getDelivered() {
+        return List.copyOf(delivered);
+    }
+
+    public synchronized void clear() {
+        delivered.clear();
+    }
+}
\ No newline at end of file
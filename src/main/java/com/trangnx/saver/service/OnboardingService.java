@@ -0,0 +1,119 @@
+package com.trangnx.saver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trangnx.saver.entity.Account;
+import com.trangnx.saver.entity.Category;
+import com.trangnx.saver.entity.User;
+import com.trangnx.saver.repository.AccountRepository;
+import com.trangnx.saver.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Seeds a new user with the default categories and account from a versioned template,
+ * so clients don't have to create them one request at a time.
+ */
+@Service
+public class OnboardingService {
+
+    private final CategoryRepository categoryRepository;
+    private final AccountRepository accountRepository;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String location;
+
+    // Parsed once; the template only changes with a deploy
+    private volatile Template template;
+
+    public OnboardingService(CategoryRepository categoryRepository,
+                             AccountRepository accountRepository,
+                             ResourceLoader resourceLoader,
+                             ObjectMapper objectMapper,
+                             @Value("${onboarding.enabled:true}") boolean enabled,
+                             @Value("${onboarding.template.location:classpath:onboarding/default-template.json}") String location) {
+        this.categoryRepository = categoryRepository;
+        this.accountRepository = accountRepository;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.location = location;
+    }
+
+    /**
+     * Insert the template's categories (one statement) and default account for a just-created user.
+     * Runs in the caller's transaction, so the user never exists without them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onboard(User user) {
+        if (!enabled || user.getOnboardingVersion() != null) {
+            return;
+        }
+        Template template = getTemplate();
+
+        List<CategoryTemplate> categories = template.categories();
+        int inserted = categoryRepository.insertDefaults(
+                user.getId(),
+                categories.stream().map(CategoryTemplate::name).toArray(String[]::new),
+                categories.stream().map(c -> c.type().name()).toArray(String[]::new),
+                categories.stream().map(CategoryTemplate::icon).toArray(String[]::new),
+                categories.stream().map(CategoryTemplate::color).toArray(String[]::new));
+
+        AccountTemplate accountTemplate = template.account();
+        Account account = Account.builder()
+                .user(user)
+                .name(accountTemplate.name())
+                .type(accountTemplate.type())
+                .balance(BigDecimal.ZERO)
+                .currency(user.getBaseCurrency() != null ? user.getBaseCurrency() : ExchangeRateService.DEFAULT_CURRENCY)
+                .icon(accountTemplate.icon())
+                .color(accountTemplate.color())
+                .isDefault(true)
+                .build();
+        accountRepository.save(account);
+
+        user.setOnboardingVersion(template.version());
+        System.out.println("DEBUG: Onboarded user " + user.getId() + " with template v" + template.version()
+                + " (" + inserted + " categories)");
+    }
+
+    public Template getTemplate() {
+        Template loaded = template;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = template;
+                if (loaded == null) {
+                    loaded = loadTemplate();
+                    template = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Template loadTemplate() {
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            Template loaded = objectMapper.readValue(in, Template.class);
+            if (loaded.account() == null || loaded.categories() == null || loaded.categories().isEmpty()) {
+                throw new RuntimeException("Onboarding template " + location + " needs an account and categories");
+            }
+            return loaded;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read onboarding template from " + location, e);
+        }
+    }
+
+    public record Template(int version, AccountTemplate account, List<CategoryTemplate> categories) {}
+
+    public record AccountTemplate(String name, Account.AccountType type, String icon, String color) {}
+
+    public record CategoryTemplate(String name, Category.TransactionType type, String icon, String color) {}
+}
\ No newline at end of file
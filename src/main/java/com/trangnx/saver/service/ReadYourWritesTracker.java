@@ -0,0 +1,60 @@
+package com.trangnx.saver.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write in the last few seconds, so their reads stay on the
+ * primary until the replica has caught up. Kept locally and in Redis, since the next request
+ * may land on another node.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final String KEY_PREFIX = "ryw:user:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long windowMs;
+    private final Map<Long, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Qualifier("masterRedisTemplate") RedisTemplate<String, String> redisTemplate,
+                                 @Value("${datasource.replica.read-your-writes-ms:5000}") long windowMs) {
+        this.redisTemplate = redisTemplate;
+        this.windowMs = windowMs;
+    }
+
+    public void markWrite(Long userId) {
+        lastWriteAt.put(userId, System.currentTimeMillis());
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, "1", Duration.ofMillis(windowMs));
+        } catch (Exception e) {
+            System.out.println("DEBUG: Failed to record write for user " + userId + " in Redis: " + e.getMessage());
+        }
+    }
+
+    public boolean recentlyWrote(Long userId) {
+        Long writtenAt = lastWriteAt.get(userId);
+        if (writtenAt != null && System.currentTimeMillis() - writtenAt < windowMs) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + userId));
+        } catch (Exception e) {
+            // Can't tell: the primary is always safe
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.read-your-writes-ms:5000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.entity.RecurringTransaction;
+import com.trangnx.saver.repository.RecurringTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Posts due recurring transactions. Safe to run on every node: each template is claimed with
+ * FOR UPDATE SKIP LOCKED and next_run_at advances in the same transaction as its postings.
+ * Every template is posted in its own transaction, so one that fails is rolled back alone,
+ * backed off, and the rest of the run carries on.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringTransactionScheduler {
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${recurring.batch-size:50}")
+    private int batchSize;
+
+    @Value("${recurring.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    // Bounds catch-up after downtime: an item posts at most this many overdue occurrences per
+    // claim, the rest are picked up by the next batch or run
+    @Value("${recurring.max-occurrences-per-claim:31}")
+    private int maxOccurrencesPerClaim;
+
+    @Value("${recurring.retry.initial-backoff-ms:900000}")
+    private long initialBackoffMs;
+
+    @Value("${recurring.retry.max-backoff-ms:86400000}")
+    private long maxBackoffMs;
+
+    @Scheduled(fixedDelayString = "${recurring.run-interval-ms:900000}", initialDelayString = "${recurring.initial-delay-ms:60000}")
+    public void postDueTransactions() {
+        LocalDate today = LocalDate.now();
+        int posted = 0;
+        int failed = 0;
+
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<Long> dueIds = recurringTransactionRepository.findDueIds(today, LocalDateTime.now(), batchSize);
+
+            for (Long id : dueIds) {
+                try {
+                    Integer count = transactionTemplate.execute(status -> postDue(id, today));
+                    posted += count != null ? count : 0;
+                } catch (RuntimeException e) {
+                    failed++;
+                    recordFailure(id, e);
+                }
+            }
+            if (dueIds.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (posted > 0 || failed > 0) {
+            System.out.println("DEBUG: Posted " + posted + " recurring transactions, " + failed + " templates failed");
+        }
+    }
+
+    // Returns the number of occurrences posted; 0 if another node got to the template first
+    private int postDue(Long id, LocalDate today) {
+        RecurringTransaction recurring = recurringTransactionRepository.claimDue(id, today).orElse(null);
+        if (recurring == null) {
+            return 0;
+        }
+
+        LocalDate next = recurring.getNextRunAt();
+        int posted = 0;
+        int occurrences = 0;
+
+        while (!next.isAfter(today) && occurrences < maxOccurrencesPerClaim && !isPastEnd(recurring, next)) {
+            if (transactionService.createRecurringOccurrence(recurring, next)) {
+                posted++;
+            }
+            recurring.setLastRunAt(next);
+            next = RecurringTransactionService.nextOccurrence(recurring, next);
+            occurrences++;
+        }
+
+        recurring.setNextRunAt(next);
+        if (isPastEnd(recurring, next)) {
+            recurring.setIsActive(false);
+        }
+        recurring.setFailedAttempts(null);
+        recurring.setNextAttemptAt(null);
+        recurring.setLastError(null);
+        recurringTransactionRepository.save(recurring);
+        return posted;
+    }
+
+    // Exponential backoff: initial, 2x, 4x, ... capped at maxBackoffMs. Never gives up: the
+    // template is the user's schedule, and the cause (e.g. a deleted account) may be fixed.
+    private void recordFailure(Long id, RuntimeException e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        System.err.println("ERROR: Failed to post recurring transaction " + id + ": " + message);
+        try {
+            transactionTemplate.executeWithoutResult(status -> recurringTransactionRepository.findById(id).ifPresent(recurring -> {
+                int attempts = (recurring.getFailedAttempts() != null ? recurring.getFailedAttempts() : 0) + 1;
+                long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+                recurring.setFailedAttempts(attempts);
+                recurring.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+                recurring.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+                recurringTransactionRepository.save(recurring);
+            }));
+        } catch (RuntimeException recordError) {
+            System.err.println("ERROR: Failed to record failure of recurring transaction " + id + ": " + recordError.getMessage());
+        }
+    }
+
+    private boolean isPastEnd(RecurringTransaction recurring, LocalDate date) {
+        return recurring.getEndDate() != null && date.isAfter(recurring.getEndDate());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.RecurringTransactionDTO;
+import com.trangnx.saver.entity.Account;
+import com.trangnx.saver.entity.Category;
+import com.trangnx.saver.entity.RecurringTransaction;
+import com.trangnx.saver.entity.Transaction;
+import com.trangnx.saver.entity.User;
+import com.trangnx.saver.repository.AccountRepository;
+import com.trangnx.saver.repository.CategoryRepository;
+import com.trangnx.saver.repository.RecurringTransactionRepository;
+import com.trangnx.saver.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RecurringTransactionService {
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+
+    public List<RecurringTransactionDTO> getAllRecurringTransactions(Long userId) {
+        return recurringTransactionRepository.findByUserIdOrderByNextRunAtAsc(userId)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public RecurringTransactionDTO getRecurringTransactionById(Long id) {
+        RecurringTransaction recurring = recurringTransactionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Recurring transaction not found"));
+        return convertToDTO(recurring);
+    }
+
+    public RecurringTransactionDTO createRecurringTransaction(Long userId, RecurringTransactionDTO dto) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Account account = accountRepository.findById(dto.getAccountId())
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        Category category = categoryRepository.findById(dto.getCategoryId())
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+
+        LocalDate startDate = dto.getStartDate() != null ? dto.getStartDate() : LocalDate.now();
+        if (dto.getEndDate() != null && dto.getEndDate().isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        RecurringTransaction recurring = RecurringTransaction.builder()
+                .user(user)
+                .account(account)
+                .category(category)
+                .type(Transaction.TransactionType.valueOf(dto.getType()))
+                .amount(dto.getAmount())
+                .description(dto.getDescription())
+                .notes(dto.getNotes())
+                .frequency(RecurringTransaction.Frequency.valueOf(dto.getFrequency()))
+                .startDate(startDate)
+                .endDate(dto.getEndDate())
+                .nextRunAt(startDate)
+                .isActive(true)
+                .build();
+
+        RecurringTransaction saved = recurringTransactionRepository.save(recurring);
+        return convertToDTO(saved);
+    }
+
+    public RecurringTransactionDTO setActive(Long id, boolean active) {
+        RecurringTransaction recurring = recurringTransactionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Recurring transaction not found"));
+
+        recurring.setIsActive(active);
+        if (active) {
+            // Re-enabling after fixing the cause retries on the next run instead of after the backoff
+            recurring.setFailedAttempts(null);
+            recurring.setNextAttemptAt(null);
+        }
+
+        RecurringTransaction updated = recurringTransactionRepository.save(recurring);
+        return convertToDTO(updated);
+    }
+
+    public void deleteRecurringTransaction(Long id) {
+        recurringTransactionRepository.deleteById(id);
+    }
+
+    /**
+     * Occurrence following the given one. Monthly and yearly schedules are computed from the
+     * start date, so a schedule anchored on the 31st returns to the 31st after a short month.
+     */
+    public static LocalDate nextOccurrence(RecurringTransaction recurring, LocalDate current) {
+        LocalDate anchor = recurring.getStartDate();
+        return switch (recurring.getFrequency()) {
+            case DAILY -> current.plusDays(1);
+            case WEEKLY -> current.plusWeeks(1);
+            case MONTHLY -> anchor.plusMonths(
+                    ChronoUnit.MONTHS.between(anchor.withDayOfMonth(1), current.withDayOfMonth(1)) + 1);
+            case YEARLY -> anchor.plusYears(current.getYear() - anchor.getYear() + 1);
+        };
+    }
+
+    private RecurringTransactionDTO convertToDTO(RecurringTransaction recurring) {
+        return RecurringTransactionDTO.builder()
+                .id(recurring.getId())
+                .accountId(recurring.getAccount().getId())
+                .accountName(recurring.getAccount().getName())
+                .categoryId(recurring.getCategory().getId())
+                .categoryName(recurring.getCategory().getName())
+                .type(recurring.getType().name())
+                .amount(recurring.getAmount())
+                .description(recurring.getDescription())
+                .notes(recurring.getNotes())
+                .frequency(recurring.getFrequency().name())
+                .startDate(recurring.getStartDate())
+                .endDate(recurring.getEndDate())
+                .nextRunAt(recurring.getNextRunAt())
+                .lastRunAt(recurring.getLastRunAt())
+                .isActive(recurring.getIsActive())
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.entity.RefreshToken;
+import com.trangnx.saver.entity.User;
+import com.trangnx.saver.exception.InvalidTokenException;
+import com.trangnx.saver.repository.RefreshTokenRepository;
+import com.trangnx.saver.repository.UserRepository;
+import com.trangnx.saver.security.JwtService;
+import com.trangnx.saver.util.TokenHashHelper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token rotation backed by the refresh_tokens table.
+ * Each refresh consumes the presented token and issues a successor in the same family; a token
+ * presented again after rotation means it leaked, so the whole family is revoked, unless it comes
+ * within a short grace window (two app instances refreshing at once), which gets another successor.
+ * Refresh JWTs issued before the table existed are migrated into a new family on first use.
+ * Expired rows are purged by TokenJanitor.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final Duration reuseGrace;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtService jwtService,
+                               TokenBlacklistService tokenBlacklistService,
+                               @Value("${jwt.refresh-token-reuse-grace-ms:10000}") long reuseGraceMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.reuseGrace = Duration.ofMillis(reuseGraceMs);
+    }
+
+    public record Rotation(User user, String refreshToken) {}
+
+    /**
+     * Issue the first refresh token of a new family (a new login)
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString()).token;
+    }
+
+    /**
+     * Exchange a refresh token for its successor.
+     * @throws InvalidTokenException if the token is unknown, expired or revoked; a revoked token
+     *                               also revokes every token of its family
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Rotation rotate(String presentedToken) {
+        String tokenHash = TokenHashHelper.sha256Hex(presentedToken);
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(tokenHash)
+                .or(() -> migrateLegacyToken(presentedToken, tokenHash))
+                .orElseThrow(() -> new InvalidTokenException("Unknown refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevoked()) {
+            if (!isConcurrentRefresh(current, now)) {
+                int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+                System.out.println("DEBUG: Refresh token reuse detected for user " + current.getUser().getId()
+                        + ", revoked " + revoked + " tokens of family " + current.getFamilyId());
+                throw new InvalidTokenException("Refresh token has been revoked");
+            }
+            System.out.println("DEBUG: Refresh token of family " + current.getFamilyId()
+                    + " presented again within the grace window, issuing another successor");
+        } else if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException("Refresh token has expired");
+        }
+        if (!current.getUser().getIsActive()) {
+            refreshTokenRepository.revokeAllByUserId(current.getUser().getId());
+            throw new InvalidTokenException("User account is not active");
+        }
+
+        IssuedToken successor = issue(current.getUser(), current.getFamilyId());
+        if (!current.getRevoked()) {
+            current.setRevoked(true);
+            current.setReplacedById(successor.id);
+            current.setRotatedAt(now);
+            refreshTokenRepository.save(current);
+        }
+
+        return new Rotation(current.getUser(), successor.token);
+    }
+
+    /**
+     * Revoke the family of a token (logout on one device). Unknown tokens are ignored.
+     */
+    public void revoke(String presentedToken) {
+        refreshTokenRepository.findByTokenHash(TokenHashHelper.sha256Hex(presentedToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * Revoke every refresh token of a user (logout everywhere)
+     */
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    // Rotated moments ago and the login is still live (its successor was neither revoked nor rotated)
+    private boolean isConcurrentRefresh(RefreshToken token, LocalDateTime now) {
+        if (token.getRotatedAt() == null || token.getRotatedAt().plus(reuseGrace).isBefore(now)) {
+            return false;
+        }
+        return refreshTokenRepository.findById(token.getReplacedById())
+                .map(successor -> !successor.getRevoked())
+                .orElse(false);
+    }
+
+    /**
+     * A validly signed refresh JWT without a jti was issued before tokens were stored. Give it a row
+     * in a new family, so it is rotated like any other token and works only once.
+     */
+    private Optional<RefreshToken> migrateLegacyToken(String presentedToken, String tokenHash) {
+        Long userId;
+        Date expiration;
+        try {
+            // Parsing verifies the signature and rejects expired tokens
+            if (!jwtService.isRefreshToken(presentedToken) || jwtService.extractTokenId(presentedToken) != null) {
+                return Optional.empty();
+            }
+            userId = jwtService.extractUserId(presentedToken);
+            expiration = jwtService.extractExpiration(presentedToken);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+        // Before rotation, logout blacklisted the refresh token
+        if (userId == null || !userRepository.existsById(userId) || tokenBlacklistService.isBlacklisted(presentedToken)) {
+            return Optional.empty();
+        }
+
+        int inserted = refreshTokenRepository.insertIfAbsent(userId, tokenHash, UUID.randomUUID().toString(),
+                LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()), LocalDateTime.now());
+        if (inserted > 0) {
+            System.out.println("DEBUG: Migrated legacy refresh token of user " + userId);
+        }
+        return refreshTokenRepository.findByTokenHashForUpdate(tokenHash);
+    }
+
+    private IssuedToken issue(User user, String familyId) {
+        String token = jwtService.generateRefreshToken(user.getEmail(), user.getId());
+        LocalDateTime now = LocalDateTime.now();
+
+        RefreshToken saved = refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(TokenHashHelper.sha256Hex(token))
+                .familyId(familyId)
+                .expiresAt(now.plusNanos(jwtService.getRefreshTokenExpiration() * 1_000_000))
+                .createdAt(now)
+                .revoked(false)
+                .build());
+        return new IssuedToken(saved.getId(), token);
+    }
+
+    private record IssuedToken(Long id, String token) {}
+}
\ No newline at end of file
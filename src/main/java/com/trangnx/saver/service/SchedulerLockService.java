@@ -0,0 +1,63 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.repository.SchedulerLockRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cluster-wide leases for scheduled tasks, stored in scheduler_locks
+ */
+@Service
+@Transactional
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final String nodeId;
+
+    public SchedulerLockService(SchedulerLockRepository schedulerLockRepository) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.nodeId = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Take the named lock for at most leaseTime. Returns false if another node holds it.
+     * The lease should exceed the task's worst-case run time.
+     */
+    public boolean tryLock(String name, Duration leaseTime) {
+        LocalDateTime now = LocalDateTime.now();
+        return schedulerLockRepository.tryAcquire(name, nodeId, now, now.plus(leaseTime)) == 1;
+    }
+
+    /**
+     * Push back the expiry of a lock this node still holds. Returns false if the lease already
+     * ran out, in which case another node may have taken over.
+     */
+    public boolean extend(String name, Duration leaseTime) {
+        LocalDateTime now = LocalDateTime.now();
+        return schedulerLockRepository.extend(name, nodeId, now, now.plus(leaseTime)) == 1;
+    }
+
+    public void unlock(String name) {
+        schedulerLockRepository.release(name, nodeId, LocalDateTime.now());
+    }
+
+    /**
+     * Release and drop a one-off lock (e.g. per job), so such rows don't pile up
+     */
+    public void remove(String name) {
+        schedulerLockRepository.delete(name, nodeId);
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
\ No newline at end of file
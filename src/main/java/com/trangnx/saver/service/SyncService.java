@@ -0,0 +1,81 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.SyncResponseDTO;
+import com.trangnx.saver.repository.SyncTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SyncService {
+
+    // Rows stamped just before a watermark may commit after it was handed out, so every
+    // sync re-reads a short window before "since". Clients upsert by id, so repeats are harmless.
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    private final AccountService accountService;
+    private final CategoryService categoryService;
+    private final TransactionService transactionService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+
+    @Value("${sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays;
+
+    /**
+     * Get everything that changed for the user since the given watermark.
+     * A null watermark (first sync) or one older than the tombstone retention returns a full snapshot.
+     */
+    public SyncResponseDTO getChanges(Long userId, LocalDateTime since) {
+        LocalDateTime watermark = LocalDateTime.now();
+
+        boolean fullResync = since == null
+                || since.isBefore(watermark.minusDays(tombstoneRetentionDays));
+
+        if (fullResync) {
+            return SyncResponseDTO.builder()
+                    .watermark(watermark)
+                    .fullResync(true)
+                    .accounts(accountService.getAllAccounts(userId))
+                    .categories(categoryService.getAllCategories(userId))
+                    .transactions(transactionService.getAllTransactions(userId))
+                    .deleted(List.of())
+                    .build();
+        }
+
+        LocalDateTime from = since.minus(OVERLAP);
+
+        List<SyncResponseDTO.DeletedEntity> deleted = syncTombstoneRepository
+                .findByUserIdAndDeletedAtAfter(userId, from)
+                .stream()
+                .map(t -> new SyncResponseDTO.DeletedEntity(t.getEntityType().name(), t.getEntityId()))
+                .collect(Collectors.toList());
+
+        return SyncResponseDTO.builder()
+                .watermark(watermark)
+                .fullResync(false)
+                .accounts(accountService.getAccountsChangedSince(userId, from))
+                .categories(categoryService.getCategoriesChangedSince(userId, from))
+                .transactions(transactionService.getTransactionsChangedSince(userId, from))
+                .deleted(deleted)
+                .build();
+    }
+
+    /**
+     * Drop tombstones past the retention window; clients that old get a full resync instead
+     */
+    @Scheduled(cron = "${sync.tombstone-cleanup-cron:0 30 3 * * *}")
+    public void purgeExpiredTombstones() {
+        int deleted = syncTombstoneRepository.deleteOlderThan(
+                LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        System.out.println("DEBUG: Purged " + deleted + " expired sync tombstones");
+    }
+}
\ No newline at end of file
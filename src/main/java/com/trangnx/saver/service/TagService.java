@@ -0,0 +1,138 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.TagSummaryDTO;
+import com.trangnx.saver.entity.Transaction;
+import com.trangnx.saver.entity.TransactionTag;
+import com.trangnx.saver.repository.TagTotal;
+import com.trangnx.saver.repository.TransactionTagRepository;
+import com.trangnx.saver.util.TagHelper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TagService {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final String BACKFILL_LOCK = "tag-backfill";
+    private static final Duration BACKFILL_LOCK_LEASE = Duration.ofMinutes(30);
+
+    private final TransactionTagRepository transactionTagRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLockService schedulerLockService;
+
+    /**
+     * Replace the normalized tag rows of a transaction with the tags parsed from Transaction.tags.
+     * Must run inside the transaction that saved it.
+     */
+    public void syncTags(Transaction transaction, boolean isNew) {
+        if (!isNew) {
+            transactionTagRepository.deleteByTransactionId(transaction.getId());
+        }
+
+        List<TransactionTag> rows = TagHelper.normalize(transaction.getTags())
+                .stream()
+                .map(tag -> TransactionTag.builder()
+                        .userId(transaction.getUser().getId())
+                        .transaction(transaction)
+                        .tag(tag)
+                        .build())
+                .collect(Collectors.toList());
+
+        if (!rows.isEmpty()) {
+            transactionTagRepository.saveAll(rows);
+        }
+    }
+
+    /**
+     * Get income/expense totals per tag in a date range, largest expense first.
+     * With a tag, only that tag is aggregated (index lookup on user_id + tag).
+     */
+    public List<TagSummaryDTO> getTagSummary(Long userId, LocalDate startDate, LocalDate endDate, String tag) {
+        String normalizedTag = TagHelper.normalizeTag(tag);
+        List<TagTotal> totals = normalizedTag != null
+                ? transactionTagRepository.sumByUserAndTagAndDateRange(userId, normalizedTag, startDate, endDate)
+                : transactionTagRepository.sumByUserAndDateRange(userId, startDate, endDate);
+
+        Map<String, TagSummaryDTO> summaries = new LinkedHashMap<>();
+        for (TagTotal total : totals) {
+            TagSummaryDTO summary = summaries.computeIfAbsent(total.getTag(), t -> TagSummaryDTO.builder()
+                    .tag(t)
+                    .totalIncome(BigDecimal.ZERO)
+                    .totalExpense(BigDecimal.ZERO)
+                    .transactionsCount(0L)
+                    .build());
+
+            if (total.getType() == Transaction.TransactionType.INCOME) {
+                summary.setTotalIncome(summary.getTotalIncome().add(total.getTotal()));
+            } else {
+                summary.setTotalExpense(summary.getTotalExpense().add(total.getTotal()));
+            }
+            summary.setTransactionsCount(summary.getTransactionsCount() + total.getCount());
+        }
+
+        List<TagSummaryDTO> result = new ArrayList<>(summaries.values());
+        result.sort(Comparator.comparing(TagSummaryDTO::getTotalExpense).reversed());
+        return result;
+    }
+
+    /**
+     * Index tags of transactions written before tags were normalized, in small batches.
+     * One node at a time; a failure is logged and the next startup picks up where this one stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTags() {
+        if (!schedulerLockService.tryLock(BACKFILL_LOCK, BACKFILL_LOCK_LEASE)) {
+            return;
+        }
+        long afterId = 0;
+        int indexed = 0;
+
+        try {
+            while (true) {
+                final long cursor = afterId;
+                List<Transaction> batch = transactionTemplate.execute(status -> {
+                    List<Transaction> transactions = transactionTagRepository.findUnindexedTaggedAfter(
+                            cursor, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                    for (Transaction transaction : transactions) {
+                        Set<String> tags = TagHelper.normalize(transaction.getTags());
+                        if (!tags.isEmpty()) {
+                            transactionTagRepository.insertIfAbsent(
+                                    transaction.getUser().getId(), transaction.getId(), tags.toArray(String[]::new));
+                        }
+                    }
+                    return transactions;
+                });
+
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                indexed += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } catch (Exception e) {
+            System.err.println("ERROR: Tag backfill stopped after transaction " + afterId + ": " + e.getMessage());
+        } finally {
+            schedulerLockService.unlock(BACKFILL_LOCK);
+        }
+
+        if (indexed > 0) {
+            System.out.println("DEBUG: Indexed tags of " + indexed + " existing transactions");
+        }
+    }
+}
\ No newline at end of file
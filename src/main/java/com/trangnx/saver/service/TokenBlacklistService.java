@@ -1,69 +1,159 @@
 package com.trangnx.saver.service;
 
+import com.trangnx.saver.entity.BlacklistedToken;
+import com.trangnx.saver.repository.BlacklistedTokenRepository;
 import com.trangnx.saver.security.JwtService;
-import lombok.RequiredArgsConstructor;
+import com.trangnx.saver.util.TokenHashHelper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Token blacklist kept in Redis and, durably, in blacklisted_tokens.
+ * Reads go to Redis behind a circuit breaker; while Redis is failing they are answered
+ * from a local snapshot of the table, refreshed incrementally in the background.
+ */
 @Service
-@RequiredArgsConstructor
 public class TokenBlacklistService {
 
     private final RedisTemplate<String, String> redisTemplate;
     private final JwtService jwtService;
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final BlacklistNearCache nearCache;
 
-    private static final String BLACKLIST_PREFIX = "blacklist:token:";
+    static final String BLACKLIST_PREFIX = "blacklist:token:";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // token hash -> expiry, mirror of the unexpired rows of blacklisted_tokens
+    private final Map<String, LocalDateTime> snapshot = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastRefreshAt;
+
+    private final int failureThreshold;
+    private final long openMs;
+    private final Duration refreshOverlap;
+
+    // Circuit breaker state: open while openUntil is in the future, half-open once it has passed
+    private int consecutiveFailures;
+    private long openUntil;
+
+    public TokenBlacklistService(@Qualifier("masterRedisTemplate") RedisTemplate<String, String> redisTemplate,
+                                 JwtService jwtService,
+                                 BlacklistedTokenRepository blacklistedTokenRepository,
+                                 BlacklistNearCache nearCache,
+                                 @Value("${blacklist.circuit.failure-threshold:3}") int failureThreshold,
+                                 @Value("${blacklist.circuit.open-ms:30000}") long openMs,
+                                 @Value("${blacklist.snapshot.overlap-ms:60000}") long refreshOverlapMs) {
+        this.redisTemplate = redisTemplate;
+        this.jwtService = jwtService;
+        this.blacklistedTokenRepository = blacklistedTokenRepository;
+        this.nearCache = nearCache;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.refreshOverlap = Duration.ofMillis(refreshOverlapMs);
+    }
 
     /**
      * Add token to blacklist (invalidate token)
      */
     public void blacklistToken(String token) {
+        Date expirationDate;
+        String email;
         try {
             // Extract expiration date from token
-            Date expirationDate = jwtService.extractExpiration(token);
-            long ttl = expirationDate.getTime() - System.currentTimeMillis();
+            expirationDate = jwtService.extractExpiration(token);
+            email = jwtService.extractEmail(token);
+        } catch (Exception e) {
+            System.out.println("DEBUG: Failed to blacklist token: " + e.getMessage());
+            return;
+        }
 
-            if (ttl > 0) {
-                String key = BLACKLIST_PREFIX + token;
-                String email = jwtService.extractEmail(token);
+        long ttl = expirationDate.getTime() - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
 
-                // Store in Redis with TTL (auto-expire when token expires)
-                redisTemplate.opsForValue().set(
-                        key,
-                        email,
-                        Duration.ofMillis(ttl)
-                );
+        String tokenHash = TokenHashHelper.sha256Hex(token);
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expirationDate.toInstant(), ZoneId.systemDefault());
 
-                System.out.println("DEBUG: Token blacklisted in Redis for user: " + email + " (TTL: " + ttl + "ms)");
-            }
+        // Postgres is the source of truth; the local snapshot covers this node until the next refresh
+        try {
+            blacklistedTokenRepository.insertIfAbsent(tokenHash, LocalDateTime.now(), expiresAt, email);
+            snapshot.put(tokenHash, expiresAt);
+        } catch (Exception e) {
+            System.err.println("ERROR: Failed to persist blacklisted token for user " + email + ": " + e.getMessage());
+        }
+
+        nearCache.invalidate(BLACKLIST_PREFIX + token);
+        if (isCircuitOpen()) {
+            return;
+        }
+        try {
+            // Store in Redis with TTL (auto-expire when token expires)
+            redisTemplate.opsForValue().set(BLACKLIST_PREFIX + token, email, Duration.ofMillis(ttl));
+            recordSuccess();
+            System.out.println("DEBUG: Token blacklisted in Redis for user: " + email + " (TTL: " + ttl + "ms)");
         } catch (Exception e) {
+            recordFailure();
             System.out.println("DEBUG: Failed to blacklist token in Redis: " + e.getMessage());
         }
     }
 
     /**
-     * Check if token is blacklisted
+     * Check if token is blacklisted. The local snapshot is checked first: a token blacklisted while
+     * Redis was down is only in Postgres and the snapshot, never in Redis.
      */
     public boolean isBlacklisted(String token) {
-        try {
-            String key = BLACKLIST_PREFIX + token;
-            return redisTemplate.hasKey(key);
-        } catch (Exception e) {
-            System.out.println("DEBUG: Error checking blacklist: " + e.getMessage());
-            // If Redis is down, deny access for safety
-            return false;
+        if (isBlacklistedInSnapshot(token)) {
+            return true;
         }
+        String key = BLACKLIST_PREFIX + token;
+        Boolean cached = nearCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (!isCircuitOpen()) {
+            try {
+                long epoch = nearCache.currentEpoch();
+                // Master-only template: a replica lagging behind a logout must not answer (or seed the cache)
+                boolean blacklisted = Boolean.TRUE.equals(redisTemplate.hasKey(key));
+                recordSuccess();
+                nearCache.put(key, blacklisted, epoch);
+                return blacklisted;
+            } catch (Exception e) {
+                recordFailure();
+                System.out.println("DEBUG: Error checking blacklist in Redis, using local snapshot: " + e.getMessage());
+            }
+        }
+        return false;
     }
 
     /**
-     * Remove token from blacklist (rarely used, mainly for testing)
+     * Remove token from blacklist (rarely used, mainly for testing).
+     * Other nodes keep it in their snapshot until it expires.
      */
     public void removeFromBlacklist(String token) {
+        String tokenHash = TokenHashHelper.sha256Hex(token);
+        try {
+            blacklistedTokenRepository.deleteByTokenHash(tokenHash);
+        } catch (Exception e) {
+            System.err.println("ERROR: Failed to delete blacklisted token: " + e.getMessage());
+        }
+        snapshot.remove(tokenHash);
+        String key = BLACKLIST_PREFIX + token;
+        nearCache.invalidate(key);
         try {
-            String key = BLACKLIST_PREFIX + token;
             redisTemplate.delete(key);
             System.out.println("DEBUG: Token removed from blacklist");
         } catch (Exception e) {
@@ -79,7 +169,59 @@ public class TokenBlacklistService {
             var keys = redisTemplate.keys(BLACKLIST_PREFIX + "*");
             return keys.size();
         } catch (Exception e) {
-            return 0;
+            return snapshot.size();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        refreshSnapshot();
+        System.out.println("DEBUG: Loaded " + snapshot.size() + " blacklisted tokens into local snapshot");
+    }
+
+    /**
+     * Pull rows added since the last refresh (with an overlap for clock skew and late commits)
+     * and drop entries that have expired
+     */
+    @Scheduled(fixedDelayString = "${blacklist.snapshot.refresh-ms:15000}",
+            initialDelayString = "${blacklist.snapshot.refresh-ms:15000}")
+    public void refreshSnapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefreshAt != null ? lastRefreshAt.minus(refreshOverlap) : EPOCH;
+        try {
+            List<BlacklistedToken> added = blacklistedTokenRepository.findActiveBlacklistedAfter(since, now);
+            for (BlacklistedToken token : added) {
+                snapshot.put(token.getTokenHash(), token.getExpiresAt());
+            }
+            lastRefreshAt = now;
+        } catch (Exception e) {
+            System.err.println("ERROR: Failed to refresh blacklist snapshot: " + e.getMessage());
+        }
+        snapshot.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    private boolean isBlacklistedInSnapshot(String token) {
+        LocalDateTime expiresAt = snapshot.get(TokenHashHelper.sha256Hex(token));
+        return expiresAt != null && expiresAt.isAfter(LocalDateTime.now());
+    }
+
+    private synchronized boolean isCircuitOpen() {
+        // Half-open: once the window has passed, let calls through; one more failure reopens it
+        return openUntil > System.currentTimeMillis();
+    }
+
+    private synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        openUntil = 0;
+    }
+
+    private synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (consecutiveFailures >= failureThreshold) {
+            if (openUntil == 0 || openUntil <= System.currentTimeMillis()) {
+                System.err.println("ERROR: Redis blacklist unavailable, serving from local snapshot for " + openMs + "ms");
+            }
+            openUntil = System.currentTimeMillis() + openMs;
         }
     }
 }
\ No newline at end of file
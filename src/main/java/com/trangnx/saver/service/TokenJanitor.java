@@ -0,0 +1,94 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.repository.BlacklistedTokenRepository;
+import com.trangnx.saver.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Purges expired rows of blacklisted_tokens and refresh_tokens in bounded batches.
+ * Runs on one node at a time; rows purged per run are published as token.janitor.purged.
+ */
+@Component
+public class TokenJanitor {
+
+    private static final String LOCK_NAME = "token-janitor";
+
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary blacklistedPurged;
+    private final DistributionSummary refreshPurged;
+    private final int batchSize;
+    private final Duration lockLease;
+
+    public TokenJanitor(BlacklistedTokenRepository blacklistedTokenRepository,
+                        RefreshTokenRepository refreshTokenRepository,
+                        SchedulerLockService schedulerLockService,
+                        TransactionTemplate transactionTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${janitor.batch-size:1000}") int batchSize,
+                        @Value("${janitor.lock-lease-ms:600000}") long lockLeaseMs) {
+        this.blacklistedTokenRepository = blacklistedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.blacklistedPurged = purgedPerRun(meterRegistry, "blacklisted_tokens");
+        this.refreshPurged = purgedPerRun(meterRegistry, "refresh_tokens");
+        this.batchSize = batchSize;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    @Scheduled(fixedDelayString = "${janitor.interval-ms:3600000}", initialDelayString = "${janitor.initial-delay-ms:60000}")
+    public void purgeExpiredTokens() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, lockLease)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long blacklisted = purge(now, blacklistedTokenRepository::deleteExpiredBatch);
+            long refresh = purge(now, refreshTokenRepository::deleteExpiredBatch);
+            blacklistedPurged.record(blacklisted);
+            refreshPurged.record(refresh);
+
+            if (blacklisted + refresh > 0) {
+                System.out.println("DEBUG: Token janitor purged " + blacklisted + " blacklisted and "
+                        + refresh + " refresh tokens");
+            }
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    // One short transaction per batch, so the purge never holds locks on many rows at once
+    private long purge(LocalDateTime now, ToIntBiFunction<LocalDateTime, Integer> deleteBatch) {
+        long total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> deleteBatch.applyAsInt(now, batchSize));
+            if (deleted == null || deleted == 0) {
+                return total;
+            }
+            total += deleted;
+            if (deleted < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private static DistributionSummary purgedPerRun(MeterRegistry meterRegistry, String table) {
+        return DistributionSummary.builder("token.janitor.purged")
+                .description("Expired rows deleted per janitor run")
+                .baseUnit("rows")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
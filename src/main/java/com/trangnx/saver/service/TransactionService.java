@@ -1,21 +1,45 @@
 package com.trangnx.saver.service;
 
 import com.trangnx.saver.dto.TransactionDTO;
+import com.trangnx.saver.dto.TransactionSearchResultDTO;
 import com.trangnx.saver.entity.Account;
 import com.trangnx.saver.entity.Category;
+import com.trangnx.saver.entity.RecurringTransaction;
+import com.trangnx.saver.entity.SyncTombstone;
 import com.trangnx.saver.entity.Transaction;
 import com.trangnx.saver.entity.User;
+import com.trangnx.saver.event.TransactionChangedEvent;
 import com.trangnx.saver.repository.AccountRepository;
 import com.trangnx.saver.repository.CategoryRepository;
+import com.trangnx.saver.repository.SearchHit;
+import com.trangnx.saver.repository.SyncTombstoneRepository;
 import com.trangnx.saver.repository.TransactionRepository;
+import com.trangnx.saver.repository.TransactionRow;
+import com.trangnx.saver.repository.TransactionTagRepository;
 import com.trangnx.saver.repository.UserRepository;
+import com.trangnx.saver.util.ETagHelper;
+import com.trangnx.saver.util.TagHelper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,25 +47,156 @@ import java.util.stream.Collectors;
 @Transactional
 public class TransactionService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_TERMS = 8;
+    private static final int STREAM_PAGE_SIZE = 500;
+    // Bounds of an unranged stream, inside the range of a Postgres date
+    private static final LocalDate STREAM_FIRST_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate STREAM_LAST_DATE = LocalDate.of(9999, 12, 31);
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final CategoryRepository categoryRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final BudgetService budgetService;
+    private final BalanceHistoryService balanceHistoryService;
+    private final TagService tagService;
+    private final TransactionTagRepository transactionTagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
 
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getAllTransactions(Long userId) {
-        return transactionRepository.findByUserIdOrderByTransactionDateDesc(userId)
+        return transactionRepository.findRowsByUserId(userId)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get transactions carrying a tag, via the normalized tag index instead of scanning Transaction.tags
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> getTransactionsByTag(Long userId, String tag) {
+        String normalizedTag = TagHelper.normalizeTag(tag);
+        if (normalizedTag == null) {
+            return getAllTransactions(userId);
+        }
+        return transactionTagRepository.findTransactionsByUserAndTag(userId, normalizedTag)
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Full-text search over description and notes, ranked by relevance and keyset-paginated.
+     * Every word is matched as a prefix, so "cof" finds "coffee".
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public TransactionSearchResultDTO searchTransactions(Long userId, String text, String cursor, int limit) {
+        String query = toPrefixTsQuery(text);
+        if (query == null) {
+            return TransactionSearchResultDTO.builder().items(List.of()).build();
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        List<SearchHit> hits;
+        if (cursor == null || cursor.isBlank()) {
+            hits = transactionRepository.search(userId, query, pageSize);
+        } else {
+            SearchCursor after = decodeSearchCursor(cursor);
+            hits = transactionRepository.searchAfter(userId, query, after.rank(), after.id(), pageSize);
+        }
+
+        // Account and category are fetched with the page, so building the DTOs issues no further queries
+        Map<Long, Transaction> byId = transactionRepository.findAllWithAccountAndCategoryByIdIn(
+                        hits.stream().map(SearchHit::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Transaction::getId, t -> t));
+
+        List<TransactionDTO> items = hits.stream()
+                .map(hit -> byId.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hits.size() == pageSize) {
+            SearchHit last = hits.get(hits.size() - 1);
+            nextCursor = encodeSearchCursor(last.getRank(), last.getId());
+        }
+
+        return TransactionSearchResultDTO.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        return transactionRepository.findByUserIdAndTransactionDateBetween(userId, startDate, endDate)
+        return transactionRepository.findRowsByUserIdAndDateRange(userId, startDate, endDate)
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Stream transactions, newest first, to a consumer in keyset-paged batches. Optional date range.
+     * Each page is read in its own short read-only transaction, so no connection is held while
+     * rows are written out to a slow client.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamTransactions(Long userId, LocalDate startDate, LocalDate endDate, Consumer<TransactionDTO> consumer) {
+        boolean ranged = startDate != null && endDate != null;
+        LocalDate from = ranged ? startDate : STREAM_FIRST_DATE;
+        LocalDate to = ranged ? endDate : STREAM_LAST_DATE;
+
+        TransactionTemplate pageTransaction = new TransactionTemplate(transactionManager);
+        pageTransaction.setReadOnly(true);
+
+        LocalDate beforeDate = to;
+        long beforeId = Long.MAX_VALUE;
+        while (true) {
+            LocalDate pageBeforeDate = beforeDate;
+            long pageBeforeId = beforeId;
+            List<TransactionRow> page = pageTransaction.execute(status -> transactionRepository.findRowPageByUserId(
+                    userId, from, to, pageBeforeDate, pageBeforeId, PageRequest.of(0, STREAM_PAGE_SIZE)));
+            if (page == null || page.isEmpty()) {
+                return;
+            }
+            page.forEach(row -> consumer.accept(convertToDTO(row)));
+            if (page.size() < STREAM_PAGE_SIZE) {
+                return;
+            }
+            TransactionRow last = page.get(page.size() - 1);
+            beforeDate = last.getTransactionDate();
+            beforeId = last.getId();
+        }
+    }
+
+    /**
+     * Weak ETag of the user's transactions list, computed without loading any transactions.
+     * Accounts and categories are included because their names are part of each TransactionDTO.
+     */
+    @Transactional(readOnly = true)
+    public String getTransactionsETag(Long userId) {
+        return ETagHelper.weakListETag("transactions",
+                transactionRepository.findListVersionByUserId(userId),
+                accountRepository.findListVersionByUserId(userId),
+                categoryRepository.findListVersionByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> getTransactionsChangedSince(Long userId, LocalDateTime since) {
+        return transactionRepository.findRowsByUserIdAndUpdatedAtAfter(userId, since)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
     public TransactionDTO getTransactionById(Long id) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
@@ -70,15 +225,82 @@ public class TransactionService {
                 .tags(dto.getTags())
                 .build();
 
-        // Update account balance
-        if (transaction.getType() == Transaction.TransactionType.INCOME) {
-            account.setBalance(account.getBalance().add(dto.getAmount()));
-        } else {
-            account.setBalance(account.getBalance().subtract(dto.getAmount()));
+        Transaction saved = persistNewTransaction(transaction);
+        return convertToDTO(saved);
+    }
+
+    /**
+     * Post one occurrence of a recurring transaction.
+     * Returns false without posting if this occurrence already exists, so replays are idempotent.
+     */
+    public boolean createRecurringOccurrence(RecurringTransaction recurring, LocalDate date) {
+        if (transactionRepository.existsByRecurringTransactionIdAndTransactionDate(recurring.getId(), date)) {
+            return false;
         }
-        accountRepository.save(account);
 
-        Transaction saved = transactionRepository.save(transaction);
+        Transaction transaction = Transaction.builder()
+                .user(recurring.getUser())
+                .account(recurring.getAccount())
+                .category(recurring.getCategory())
+                .type(recurring.getType())
+                .amount(recurring.getAmount())
+                .description(recurring.getDescription())
+                .transactionDate(date)
+                .notes(recurring.getNotes())
+                .recurringTransactionId(recurring.getId())
+                .build();
+
+        persistNewTransaction(transaction);
+        return true;
+    }
+
+    /**
+     * Update a transaction, applying only the old-vs-new difference to balances and rollups.
+     * @param partial true for PATCH (null fields are left unchanged), false for PUT (full replacement)
+     */
+    public TransactionDTO updateTransaction(Long id, TransactionDTO dto, boolean partial) {
+        Transaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Transaction not found"));
+
+        if (dto.getVersion() != null && !dto.getVersion().equals(transaction.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Transaction.class, id);
+        }
+        if (!partial && (dto.getAccountId() == null || dto.getCategoryId() == null || dto.getType() == null
+                || dto.getAmount() == null || dto.getTransactionDate() == null)) {
+            throw new IllegalArgumentException("accountId, categoryId, type, amount and transactionDate are required");
+        }
+
+        Transaction before = snapshot(transaction);
+
+        if (dto.getAccountId() != null && !dto.getAccountId().equals(transaction.getAccount().getId())) {
+            transaction.setAccount(accountRepository.findById(dto.getAccountId())
+                    .orElseThrow(() -> new RuntimeException("Account not found")));
+        }
+        if (dto.getCategoryId() != null && !dto.getCategoryId().equals(transaction.getCategory().getId())) {
+            transaction.setCategory(categoryRepository.findById(dto.getCategoryId())
+                    .orElseThrow(() -> new RuntimeException("Category not found")));
+        }
+        if (dto.getType() != null) transaction.setType(Transaction.TransactionType.valueOf(dto.getType()));
+        if (dto.getAmount() != null) transaction.setAmount(dto.getAmount());
+        if (dto.getTransactionDate() != null) transaction.setTransactionDate(dto.getTransactionDate());
+        if (!partial || dto.getDescription() != null) transaction.setDescription(dto.getDescription());
+        if (!partial || dto.getNotes() != null) transaction.setNotes(dto.getNotes());
+        if (!partial || dto.getTags() != null) transaction.setTags(dto.getTags());
+
+        applyBalanceDelta(before, transaction);
+        budgetService.onTransactionUpdated(before, transaction);
+        balanceHistoryService.onTransactionUpdated(before, transaction);
+
+        // Flush so a concurrent edit fails here and the response carries the new version
+        Transaction saved = transactionRepository.saveAndFlush(transaction);
+        if (!Objects.equals(before.getTags(), saved.getTags())) {
+            tagService.syncTags(saved, false);
+        }
+
+        Account previousAccount = before.getAccount().getId().equals(saved.getAccount().getId())
+                ? null
+                : before.getAccount();
+        publishChange(saved, TransactionChangedEvent.ChangeType.UPDATED, previousAccount);
         return convertToDTO(saved);
     }
 
@@ -95,21 +317,159 @@ public class TransactionService {
         }
         accountRepository.save(account);
 
-        transactionRepository.deleteById(id);
+        budgetService.onTransactionDeleted(transaction);
+        balanceHistoryService.onTransactionDeleted(transaction);
+        transactionRepository.delete(transaction);
+        syncTombstoneRepository.save(SyncTombstone.of(
+                transaction.getUser().getId(), SyncTombstone.EntityType.TRANSACTION, id));
+
+        publishChange(transaction, TransactionChangedEvent.ChangeType.DELETED);
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getTotalIncome(Long userId, LocalDate startDate, LocalDate endDate) {
         BigDecimal total = transactionRepository.sumAmountByUserAndTypeAndDateRange(
                 userId, Transaction.TransactionType.INCOME, startDate, endDate);
         return total != null ? total : BigDecimal.ZERO;
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpense(Long userId, LocalDate startDate, LocalDate endDate) {
         BigDecimal total = transactionRepository.sumAmountByUserAndTypeAndDateRange(
                 userId, Transaction.TransactionType.EXPENSE, startDate, endDate);
         return total != null ? total : BigDecimal.ZERO;
     }
 
+    private Transaction persistNewTransaction(Transaction transaction) {
+        Account account = transaction.getAccount();
+
+        // Update account balance
+        if (transaction.getType() == Transaction.TransactionType.INCOME) {
+            account.setBalance(account.getBalance().add(transaction.getAmount()));
+        } else {
+            account.setBalance(account.getBalance().subtract(transaction.getAmount()));
+        }
+        accountRepository.save(account);
+
+        Transaction saved = transactionRepository.save(transaction);
+        budgetService.onTransactionCreated(saved);
+        balanceHistoryService.onTransactionCreated(saved);
+        tagService.syncTags(saved, true);
+
+        publishChange(saved, TransactionChangedEvent.ChangeType.CREATED);
+        return saved;
+    }
+
+    // Same account: one balance write with the net difference; moved: revert on old, apply on new
+    private void applyBalanceDelta(Transaction before, Transaction after) {
+        Account oldAccount = before.getAccount();
+        Account newAccount = after.getAccount();
+
+        if (oldAccount.getId().equals(newAccount.getId())) {
+            BigDecimal delta = signedAmount(after).subtract(signedAmount(before));
+            if (delta.signum() != 0) {
+                newAccount.setBalance(newAccount.getBalance().add(delta));
+                accountRepository.save(newAccount);
+            }
+            return;
+        }
+
+        oldAccount.setBalance(oldAccount.getBalance().subtract(signedAmount(before)));
+        newAccount.setBalance(newAccount.getBalance().add(signedAmount(after)));
+        accountRepository.save(oldAccount);
+        accountRepository.save(newAccount);
+    }
+
+    private BigDecimal signedAmount(Transaction transaction) {
+        return transaction.getType() == Transaction.TransactionType.INCOME
+                ? transaction.getAmount()
+                : transaction.getAmount().negate();
+    }
+
+    // Detached copy of the fields that drive balances and rollups
+    private Transaction snapshot(Transaction transaction) {
+        Transaction copy = Transaction.builder()
+                .user(transaction.getUser())
+                .account(transaction.getAccount())
+                .category(transaction.getCategory())
+                .type(transaction.getType())
+                .amount(transaction.getAmount())
+                .transactionDate(transaction.getTransactionDate())
+                .tags(transaction.getTags())
+                .build();
+        copy.setId(transaction.getId());
+        return copy;
+    }
+
+    private void publishChange(Transaction transaction, TransactionChangedEvent.ChangeType changeType) {
+        publishChange(transaction, changeType, null);
+    }
+
+    // previousAccount: the account an update moved the transaction away from, or null
+    private void publishChange(Transaction transaction, TransactionChangedEvent.ChangeType changeType,
+                               Account previousAccount) {
+        eventPublisher.publishEvent(new TransactionChangedEvent(
+                transaction.getUser().getId(),
+                transaction.getId(),
+                transaction.getAccount().getId(),
+                transaction.getAccount().getBalance(),
+                changeType,
+                previousAccount != null ? previousAccount.getId() : null,
+                previousAccount != null ? previousAccount.getBalance() : null
+        ));
+    }
+
+    // "Grab coffee!" -> "grab:* & coffee:*"; only letters and digits reach to_tsquery
+    static String toPrefixTsQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    // Opaque position of the last hit on a page: base64url of "rank:id"
+    static String encodeSearchCursor(float rank, long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (rank + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SearchCursor decodeSearchCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            return new SearchCursor(Float.parseFloat(position[0]), Long.parseLong(position[1]));
+        } catch (IllegalArgumentException e) {
+            // Malformed base64 and NumberFormatException are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+
+    record SearchCursor(float rank, long id) {}
+
+    private TransactionDTO convertToDTO(TransactionRow row) {
+        return TransactionDTO.builder()
+                .id(row.getId())
+                .accountId(row.getAccountId())
+                .accountName(row.getAccountName())
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName())
+                .type(row.getType().name())
+                .amount(row.getAmount())
+                .description(row.getDescription())
+                .transactionDate(row.getTransactionDate())
+                .notes(row.getNotes())
+                .tags(row.getTags())
+                .version(row.getVersion())
+                .build();
+    }
+
     private TransactionDTO convertToDTO(Transaction transaction) {
         return TransactionDTO.builder()
                 .id(transaction.getId())
@@ -123,6 +483,7 @@ public class TransactionService {
                 .transactionDate(transaction.getTransactionDate())
                 .notes(transaction.getNotes())
                 .tags(transaction.getTags())
+                .version(transaction.getVersion())
                 .build();
     }
 }
\ No newline at end of file
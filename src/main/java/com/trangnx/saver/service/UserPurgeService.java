@@ -0,0 +1,237 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.dto.BackgroundJobDTO;
+import com.trangnx.saver.entity.BackgroundJob;
+import com.trangnx.saver.entity.User;
+import com.trangnx.saver.repository.BackgroundJobRepository;
+import com.trangnx.saver.repository.RecurringTransactionRepository;
+import com.trangnx.saver.repository.UserPurgeRepository;
+import com.trangnx.saver.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Permanently deletes all data of a user for privacy deletion requests.
+ * Runs as a background job in bounded, throttled batches, one transaction each, checkpointing the
+ * current step so a job interrupted by a restart resumes instead of starting over.
+ * Each job runs under a per-job lease in scheduler_locks, renewed as it progresses, so only one
+ * node works on it; a job whose lease lapsed (its node died) is picked up by another node.
+ * The finished USER_PURGE row is kept as the record that the deletion was carried out: it holds
+ * only ids and counters, and is what the status token reads.
+ */
+@Service
+public class UserPurgeService {
+
+    private final UserRepository userRepository;
+    private final UserPurgeRepository userPurgeRepository;
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final BackgroundJobRepository backgroundJobRepository;
+    private final BackgroundJobService backgroundJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLockService schedulerLockService;
+    private final int batchSize;
+    private final long throttleMillis;
+    private final Duration lockLease;
+
+    // Jobs queued or running on this node, whose lease may lapse while they wait for a pool thread
+    private final Set<Long> localJobs = ConcurrentHashMap.newKeySet();
+
+    public UserPurgeService(UserRepository userRepository,
+                            UserPurgeRepository userPurgeRepository,
+                            RecurringTransactionRepository recurringTransactionRepository,
+                            BackgroundJobRepository backgroundJobRepository,
+                            BackgroundJobService backgroundJobService,
+                            TransactionTemplate transactionTemplate,
+                            SchedulerLockService schedulerLockService,
+                            @Value("${jobs.user-purge.batch-size:5000}") int batchSize,
+                            @Value("${jobs.user-purge.throttle-ms:50}") long throttleMillis,
+                            @Value("${jobs.user-purge.lock-lease-ms:600000}") long lockLeaseMs) {
+        this.userRepository = userRepository;
+        this.userPurgeRepository = userPurgeRepository;
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.backgroundJobRepository = backgroundJobRepository;
+        this.backgroundJobService = backgroundJobService;
+        this.transactionTemplate = transactionTemplate;
+        this.schedulerLockService = schedulerLockService;
+        this.batchSize = batchSize;
+        this.throttleMillis = throttleMillis;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+    }
+
+    // Children before parents, so no step trips a foreign key. Recurring templates go first,
+    // so nothing can post new transactions behind the TRANSACTIONS step.
+    public enum PurgeStep {
+        RECURRING_TRANSACTIONS,
+        TRANSACTIONS,
+        BUDGET_ALERTS,
+        BUDGETS,
+        ACCOUNTS,
+        CATEGORIES,
+        SYNC_TOMBSTONES,
+        REFRESH_TOKENS,
+        BLACKLISTED_TOKENS,
+        BACKGROUND_JOBS,
+        USER
+    }
+
+    /**
+     * Deactivate the user immediately and queue the purge. Repeated requests return the running job.
+     * The returned status token is the only way to follow the job afterwards: deactivation
+     * invalidates the user's access tokens.
+     */
+    public BackgroundJobDTO requestPurge(Long userId) {
+        BackgroundJobDTO existing = backgroundJobService.getLatestJob(userId, BackgroundJob.JobType.USER_PURGE)
+                .filter(job -> !BackgroundJob.JobStatus.FAILED.name().equals(job.getStatus()))
+                .orElse(null);
+        if (existing != null) {
+            return backgroundJobService.issueStatusToken(existing.getId());
+        }
+
+        // Stop the recurring scheduler for this user before the job starts deleting
+        User user = transactionTemplate.execute(tx -> {
+            User found = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+            found.setIsActive(false);
+            recurringTransactionRepository.deactivateByUserId(userId);
+            return userRepository.save(found);
+        });
+
+        BackgroundJob job = backgroundJobService.create(BackgroundJob.builder()
+                .userId(userId)
+                .type(BackgroundJob.JobType.USER_PURGE)
+                .targetId(userId)
+                .totalItems(userPurgeRepository.countOwnedRows(userId))
+                .build());
+
+        String email = user.getEmail();
+        BackgroundJobDTO queued = backgroundJobService.issueStatusToken(job.getId());
+        schedulerLockService.tryLock(lockName(job.getId()), lockLease);
+        localJobs.add(job.getId());
+        backgroundJobService.submit(job.getId(), () -> purge(job.getId(), userId, email, null));
+        return queued;
+    }
+
+    public BackgroundJobDTO getPurgeStatus(Long userId) {
+        return backgroundJobService.getLatestJob(userId, BackgroundJob.JobType.USER_PURGE)
+                .orElseThrow(() -> new RuntimeException("No purge requested for user: " + userId));
+    }
+
+    public BackgroundJobDTO getPurgeStatusByToken(String statusToken) {
+        BackgroundJobDTO job = backgroundJobService.getJobByStatusToken(statusToken);
+        if (!BackgroundJob.JobType.USER_PURGE.name().equals(job.getType())) {
+            throw new RuntimeException("Job not found");
+        }
+        return job;
+    }
+
+    /**
+     * Requeue unfinished purges whose lease has lapsed, i.e. whose node stopped while they were
+     * queued or running. Jobs still leased by a live node are skipped.
+     */
+    @Scheduled(fixedDelayString = "${jobs.user-purge.resume-interval-ms:300000}",
+            initialDelayString = "${jobs.user-purge.resume-initial-delay-ms:30000}")
+    public void resumeInterruptedPurges() {
+        List<BackgroundJob> interrupted = backgroundJobRepository.findByTypeAndStatusIn(
+                BackgroundJob.JobType.USER_PURGE,
+                List.of(BackgroundJob.JobStatus.PENDING, BackgroundJob.JobStatus.RUNNING));
+
+        for (BackgroundJob job : interrupted) {
+            if (localJobs.contains(job.getId()) || !schedulerLockService.tryLock(lockName(job.getId()), lockLease)) {
+                continue;
+            }
+            localJobs.add(job.getId());
+            Long userId = job.getTargetId();
+            String email = userRepository.findById(userId).map(User::getEmail).orElse(null);
+            PurgeStep resumeFrom = job.getCheckpoint() != null ? PurgeStep.valueOf(job.getCheckpoint()) : null;
+            System.out.println("DEBUG: Resuming purge of user " + userId + " after step " + resumeFrom);
+            backgroundJobService.submit(job.getId(), () -> purge(job.getId(), userId, email, resumeFrom));
+        }
+    }
+
+    // lastCompleted: checkpointed step to continue after, or null to start from the beginning
+    private void purge(Long jobId, Long userId, String email, PurgeStep lastCompleted) {
+        try {
+            purgeSteps(jobId, userId, email, lastCompleted);
+        } finally {
+            localJobs.remove(jobId);
+            schedulerLockService.remove(lockName(jobId));
+        }
+    }
+
+    private void purgeSteps(Long jobId, Long userId, String email, PurgeStep lastCompleted) {
+        for (PurgeStep step : PurgeStep.values()) {
+            if (lastCompleted != null && step.ordinal() <= lastCompleted.ordinal()) {
+                continue;
+            }
+            // The user row is gone only after USER, so a missing email means the blacklist step already ran
+            if (step == PurgeStep.BLACKLISTED_TOKENS && email == null) {
+                continue;
+            }
+
+            while (true) {
+                renewLease(jobId);
+                Integer deleted = transactionTemplate.execute(tx -> {
+                    int count = deleteBatch(step, jobId, userId, email);
+                    backgroundJobService.addProgress(jobId, count);
+                    return count;
+                });
+                if (deleted == null || deleted < batchSize) {
+                    break;
+                }
+                throttle();
+            }
+
+            transactionTemplate.executeWithoutResult(tx -> backgroundJobService.updateCheckpoint(jobId, step.name()));
+        }
+        System.out.println("DEBUG: Purged all data of user " + userId);
+    }
+
+    // A lapsed lease (long queue wait or pause) is retaken if nobody else has; otherwise stop,
+    // another node is running the job
+    private void renewLease(Long jobId) {
+        String name = lockName(jobId);
+        if (!schedulerLockService.extend(name, lockLease) && !schedulerLockService.tryLock(name, lockLease)) {
+            throw new RuntimeException("Lost the lease on user purge job " + jobId);
+        }
+    }
+
+    private static String lockName(Long jobId) {
+        return "user-purge:" + jobId;
+    }
+
+    private int deleteBatch(PurgeStep step, Long jobId, Long userId, String email) {
+        return switch (step) {
+            case RECURRING_TRANSACTIONS -> userPurgeRepository.deleteRecurringTransactions(userId, batchSize);
+            case TRANSACTIONS -> userPurgeRepository.deleteTransactions(userId, batchSize);
+            case BUDGET_ALERTS -> userPurgeRepository.deleteBudgetAlerts(userId, batchSize);
+            case BUDGETS -> userPurgeRepository.deleteBudgets(userId, batchSize);
+            case ACCOUNTS -> userPurgeRepository.deleteAccounts(userId, batchSize);
+            case CATEGORIES -> userPurgeRepository.deleteCategories(userId, batchSize);
+            case SYNC_TOMBSTONES -> userPurgeRepository.deleteSyncTombstones(userId, batchSize);
+            case REFRESH_TOKENS -> userPurgeRepository.deleteRefreshTokens(userId, batchSize);
+            case BLACKLISTED_TOKENS -> userPurgeRepository.deleteBlacklistedTokens(email, batchSize);
+            case BACKGROUND_JOBS -> userPurgeRepository.deleteBackgroundJobs(userId, jobId, batchSize);
+            case USER -> userPurgeRepository.deleteUser(userId);
+        };
+    }
+
+    // Leaves room for replication and autovacuum between batches
+    private void throttle() {
+        if (throttleMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("User purge interrupted", e);
+        }
+    }
+}
\ No newline at end of file
@@ -2,7 +2,6 @@ package com.trangnx.saver.service;
 
 import com.trangnx.saver.dto.UserDTO;
 import com.trangnx.saver.dto.UserStatsDTO;
-import com.trangnx.saver.entity.Account;
 import com.trangnx.saver.entity.Transaction;
 import com.trangnx.saver.entity.User;
 import com.trangnx.saver.repository.AccountRepository;
@@ -13,7 +12,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 
@@ -26,19 +24,45 @@ public class UserService {
     private final AccountRepository accountRepository;
     private final CategoryRepository categoryRepository;
     private final TransactionRepository transactionRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final RefreshTokenService refreshTokenService;
+    private final OnboardingService onboardingService;
 
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         return convertToDTO(user);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
         return convertToDTO(user);
     }
 
+    /**
+     * Find the user for a Google login, or create and onboard them in one transaction
+     */
+    public User findOrCreateGoogleUser(GoogleTokenVerificationService.GoogleUserInfo googleUserInfo) {
+        return userRepository.findByEmail(googleUserInfo.getEmail())
+                .orElseGet(() -> {
+                    System.out.println("DEBUG: Creating new user for email: " + googleUserInfo.getEmail());
+                    User newUser = User.builder()
+                            .email(googleUserInfo.getEmail())
+                            .fullName(googleUserInfo.getName())
+                            .googleId(googleUserInfo.getGoogleId())
+                            .avatarUrl(googleUserInfo.getPictureUrl())
+                            .provider(User.AuthProvider.GOOGLE)
+                            .isActive(true)
+                            .build();
+                    User saved = userRepository.save(newUser);
+                    onboardingService.onboard(saved);
+                    return saved;
+                });
+    }
+
     public UserDTO updateUser(Long id, UserDTO dto) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
@@ -55,6 +79,12 @@ public class UserService {
         if (dto.getAvatarUrl() != null) {
             user.setAvatarUrl(dto.getAvatarUrl());
         }
+        if (dto.getBaseCurrency() != null) {
+            if (!exchangeRateService.isSupported(dto.getBaseCurrency())) {
+                throw new RuntimeException("Unsupported currency: " + dto.getBaseCurrency());
+            }
+            user.setBaseCurrency(dto.getBaseCurrency().toUpperCase());
+        }
 
         User updated = userRepository.save(user);
         return convertToDTO(updated);
@@ -66,6 +96,7 @@ public class UserService {
 
         user.setIsActive(false);
         userRepository.save(user);
+        refreshTokenService.revokeAll(id);
     }
 
     public void activateUser(Long id) {
@@ -76,41 +107,48 @@ public class UserService {
         userRepository.save(user);
     }
 
+    @Transactional(readOnly = true)
     public UserStatsDTO getUserStats(Long userId) {
-        // Verify user exists
-        userRepository.findById(userId)
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        String baseCurrency = ExchangeRateService.baseCurrencyOf(user);
 
         // Count resources
         Long accountsCount = accountRepository.countByUserId(userId);
         Long categoriesCount = categoryRepository.countByUserId(userId);
         Long transactionsCount = transactionRepository.countByUserId(userId);
 
-        // Calculate total balance from all accounts
-        BigDecimal totalBalance = accountRepository.findByUserId(userId)
-                .stream()
-                .map(Account::getBalance)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Totals are grouped by currency in the database, then each group is converted once
+        ExchangeRateService.CurrencySum totalBalance = exchangeRateService.sumInCurrency(
+                accountRepository.sumBalanceByUserGroupByCurrency(userId), baseCurrency);
 
         // Calculate monthly income/expense (current month)
         YearMonth currentMonth = YearMonth.now();
         LocalDate startDate = currentMonth.atDay(1);
         LocalDate endDate = currentMonth.atEndOfMonth();
 
-        BigDecimal monthlyIncome = transactionRepository.sumAmountByUserAndTypeAndDateRange(
-                userId, Transaction.TransactionType.INCOME, startDate, endDate);
+        ExchangeRateService.CurrencySum monthlyIncome = exchangeRateService.sumInCurrency(
+                transactionRepository.sumAmountByUserAndTypeAndDateRangeGroupByCurrency(
+                        userId, Transaction.TransactionType.INCOME, startDate, endDate),
+                baseCurrency);
 
-        BigDecimal monthlyExpense = transactionRepository.sumAmountByUserAndTypeAndDateRange(
-                userId, Transaction.TransactionType.EXPENSE, startDate, endDate);
+        ExchangeRateService.CurrencySum monthlyExpense = exchangeRateService.sumInCurrency(
+                transactionRepository.sumAmountByUserAndTypeAndDateRangeGroupByCurrency(
+                        userId, Transaction.TransactionType.EXPENSE, startDate, endDate),
+                baseCurrency);
 
         return UserStatsDTO.builder()
                 .userId(userId)
                 .accountsCount(accountsCount)
                 .categoriesCount(categoriesCount)
                 .transactionsCount(transactionsCount)
-                .totalBalance(totalBalance != null ? totalBalance : BigDecimal.ZERO)
-                .monthlyIncome(monthlyIncome != null ? monthlyIncome : BigDecimal.ZERO)
-                .monthlyExpense(monthlyExpense != null ? monthlyExpense : BigDecimal.ZERO)
+                .baseCurrency(baseCurrency)
+                .totalBalance(totalBalance.total())
+                .monthlyIncome(monthlyIncome.total())
+                .monthlyExpense(monthlyExpense.total())
+                .unconvertedBalance(totalBalance.unconverted())
+                .unconvertedMonthlyIncome(monthlyIncome.unconverted())
+                .unconvertedMonthlyExpense(monthlyExpense.unconverted())
                 .build();
     }
 
@@ -121,6 +159,7 @@ public class UserService {
                 .fullName(user.getFullName())
                 .avatarUrl(user.getAvatarUrl())
                 .provider(user.getProvider().name())
+                .baseCurrency(ExchangeRateService.baseCurrencyOf(user))
                 .isActive(user.getIsActive())
                 .build();
     }
@@ -0,0 +1,32 @@
+package com.trangnx.saver.util;
+
+import com.trangnx.saver.repository.ListVersion;
+
+import java.time.ZoneOffset;
+
+/**
+ * Utility class for building ETags of list endpoints
+ */
+public class ETagHelper {
+
+    /**
+     * Build a weak ETag from one or more list fingerprints.
+     * Any insert or update moves the max updated_at, and any delete changes the count.
+     * @param resource Resource name, keeps tags of different lists distinct
+     * @param versions Latest update + row count of each list the response is built from
+     * @return Weak ETag, e.g. W/"accounts-1718000000123456-12"
+     */
+    public static String weakListETag(String resource, ListVersion... versions) {
+        StringBuilder tag = new StringBuilder("W/\"").append(resource);
+        for (ListVersion version : versions) {
+            long lastUpdated = 0;
+            if (version.getLastUpdated() != null) {
+                var instant = version.getLastUpdated().toInstant(ZoneOffset.UTC);
+                lastUpdated = instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+            }
+            long count = version.getCount() != null ? version.getCount() : 0;
+            tag.append('-').append(lastUpdated).append('-').append(count);
+        }
+        return tag.append('"').toString();
+    }
+}
\ No newline at end of file
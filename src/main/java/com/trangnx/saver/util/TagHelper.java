@@ -0,0 +1,48 @@
+package com.trangnx.saver.util;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Utility class for normalizing free-form transaction tags
+ */
+public class TagHelper {
+
+    public static final int MAX_TAG_LENGTH = 50;
+
+    /**
+     * Split free-form tags ("#Travel, food  #travel") into normalized tags ("travel", "food")
+     * @param raw Tags as entered by the client, separated by commas, semicolons or whitespace
+     * @return Distinct lower-case tags without '#', in input order; empty when raw is blank
+     */
+    public static Set<String> normalize(String raw) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (raw == null || raw.isBlank()) {
+            return tags;
+        }
+
+        for (String part : raw.split("[,;\\s]+")) {
+            String tag = normalizeTag(part);
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Normalize a single tag, e.g. a filter parameter
+     * @return Normalized tag, or null when nothing is left after normalization
+     */
+    public static String normalizeTag(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String normalized = tag.trim().replaceFirst("^#+", "").toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return normalized.length() > MAX_TAG_LENGTH ? normalized.substring(0, MAX_TAG_LENGTH) : normalized;
+    }
+}
\ No newline at end of file
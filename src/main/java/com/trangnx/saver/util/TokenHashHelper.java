@@ -0,0 +1,25 @@
+package com.trangnx.saver.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for storing tokens by hash instead of in plain text
+ */
+public class TokenHashHelper {
+
+    /**
+     * SHA-256 of a token as 64 lowercase hex chars: fixed width for a compact unique index,
+     * and a leaked table can't be replayed as tokens
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+-- Runs after Hibernate's ddl-auto on every startup (spring.jpa.defer-datasource-initialization),
+-- for PostgreSQL objects JPA annotations cannot express. Every statement must be idempotent.
+
+-- Full-text search over transaction description and notes.
+-- 'simple' config: no stemming, which would mangle Vietnamese text.
+-- btree_gin lets one GIN index serve both the user_id filter and the text match.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(description, '') || ' ' || coalesce(notes, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_search_vector ON transactions USING GIN (user_id, search_vector);
+
+-- Refresh tokens are stored by hash (token_hash); the plain-text column predates rotation.
+ALTER TABLE refresh_tokens DROP COLUMN IF EXISTS token;
+
+-- Blacklisted tokens are stored by hash (token_hash); the plain-text column was never written.
+ALTER TABLE blacklisted_tokens DROP COLUMN IF EXISTS token;
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.trangnx.saver.config;
+
+import com.trangnx.saver.security.CustomUserDetails;
+import com.trangnx.saver.service.ReadYourWritesTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing between two stub pools, with the write marking done by WriteTrackingStatementInspector
+ * and a real ReadYourWritesTracker (Redis mocked, always reporting no key)
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Long USER_ID = 42L;
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReadYourWritesTracker tracker;
+    private WriteTrackingStatementInspector inspector;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        tracker = new ReadYourWritesTracker(redisTemplate, 5000);
+        inspector = new WriteTrackingStatementInspector(tracker);
+
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routingDataSource = new ReplicaRoutingDataSource(tracker);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Target.PRIMARY, primary,
+                ReplicaRoutingDataSource.Target.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeTransaction(false);
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void outsideTransactionUsesPrimary() throws Exception {
+        authenticate();
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() throws Exception {
+        authenticate();
+        beginTransaction(false);
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() throws Exception {
+        authenticate();
+        beginTransaction(true);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void anonymousReadOnlyTransactionUsesReplica() throws Exception {
+        beginTransaction(true);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readsStayOnPrimaryAfterCommittedWrite() throws Exception {
+        authenticate();
+        beginTransaction(false);
+        inspector.inspect("insert into transactions (amount, user_id) values (?, ?)");
+        completeTransaction(true);
+
+        beginTransaction(true);
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readWriteTransactionThatOnlyReadsKeepsReplica() throws Exception {
+        authenticate();
+        beginTransaction(false);
+        inspector.inspect("select t.id from transactions t where t.user_id = ?");
+        completeTransaction(true);
+
+        beginTransaction(true);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void rolledBackWriteKeepsReplica() throws Exception {
+        authenticate();
+        beginTransaction(false);
+        inspector.inspect("update accounts set balance = ? where id = ?");
+        completeTransaction(false);
+
+        beginTransaction(true);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    private void authenticate() {
+        CustomUserDetails user = new CustomUserDetails(USER_ID, "user@example.com", "User");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    // What the transaction manager does at the end of a transaction
+    private void completeTransaction(boolean commit) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (commit) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clear();
+    }
+}
\ No newline at end of file
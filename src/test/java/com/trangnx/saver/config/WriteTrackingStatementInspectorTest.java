@@ -0,0 +1,85 @@
+package com.trangnx.saver.config;
+
+import com.trangnx.saver.security.CustomUserDetails;
+import com.trangnx.saver.service.ReadYourWritesTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class WriteTrackingStatementInspectorTest {
+
+    private final ReadYourWritesTracker tracker = mock(ReadYourWritesTracker.class);
+    private final WriteTrackingStatementInspector inspector = new WriteTrackingStatementInspector(tracker);
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_UNKNOWN));
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void classifiesStatements() {
+        assertThat(WriteTrackingStatementInspector.isWrite("select * from accounts")).isFalse();
+        assertThat(WriteTrackingStatementInspector.isWrite("  SELECT 1")).isFalse();
+        assertThat(WriteTrackingStatementInspector.isWrite("/* load Account */ select a.id from accounts a")).isFalse();
+        assertThat(WriteTrackingStatementInspector.isWrite("insert into accounts (name) values (?)")).isTrue();
+        assertThat(WriteTrackingStatementInspector.isWrite("UPDATE budgets SET spent = ?")).isTrue();
+        assertThat(WriteTrackingStatementInspector.isWrite("delete from transactions where id = ?")).isTrue();
+        assertThat(WriteTrackingStatementInspector.isWrite("with moved as (delete from t returning *) select 1")).isTrue();
+    }
+
+    @Test
+    void marksWriterOnceAfterCommit() {
+        authenticate(7L);
+        inspector.inspect("insert into transactions (amount) values (?)");
+        inspector.inspect("update accounts set balance = ? where id = ?");
+        verify(tracker, never()).markWrite(any());
+
+        commit();
+        verify(tracker, times(1)).markWrite(7L);
+    }
+
+    @Test
+    void readsDoNotMarkWriter() {
+        authenticate(7L);
+        inspector.inspect("select * from transactions where user_id = ?");
+        commit();
+        verify(tracker, never()).markWrite(any());
+    }
+
+    @Test
+    void anonymousWritesAreNotTracked() {
+        inspector.inspect("insert into scheduler_locks (name) values (?)");
+        commit();
+        verify(tracker, never()).markWrite(any());
+    }
+
+    private void authenticate(Long userId) {
+        CustomUserDetails user = new CustomUserDetails(userId, "user@example.com", "User");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.trangnx.saver.security;
+
+import com.trangnx.saver.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimiterTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLeaseSize(10);
+        properties.setLeaseMaxShare(0.1);
+        // Long enough that a lease never expires mid-test
+        properties.setLeaseTtlMs(60000);
+        rule.setCapacity(120);
+        rule.setRefillPerSecond(2);
+        rateLimiter = new RateLimiter(redisTemplate, properties);
+    }
+
+    @Test
+    void spendsLeasedTokensLocally() {
+        whenScriptRuns().thenReturn(List.of(10L, 100L, 0L));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryConsume("user:1", rule)).isZero();
+        }
+        verifyScriptRuns(1, "10");
+
+        rateLimiter.tryConsume("user:1", rule);
+        verifyScriptRuns(2, "10");
+    }
+
+    @Test
+    void smallBucketsLeaseOneTokenAtATime() {
+        rule.setCapacity(10);
+        whenScriptRuns().thenReturn(List.of(1L, 9L, 0L));
+
+        assertThat(rateLimiter.tryConsume("ip:10.0.0.1", rule)).isZero();
+        assertThat(rateLimiter.tryConsume("ip:10.0.0.1", rule)).isZero();
+        verifyScriptRuns(2, "1");
+    }
+
+    @Test
+    void shrinksLeaseNearTheLimit() {
+        whenScriptRuns().thenReturn(List.of(10L, 5L, 0L), List.of(1L, 4L, 0L));
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryConsume("user:1", rule);
+        }
+        assertThat(rateLimiter.tryConsume("user:1", rule)).isZero();
+
+        verifyScriptRuns(1, "10");
+        verifyScriptRuns(1, "1");
+    }
+
+    @Test
+    void blocksUntilRetryAfterDenial() {
+        whenScriptRuns().thenReturn(List.of(0L, 0L, 2000L));
+
+        assertThat(rateLimiter.tryConsume("user:1", rule)).isEqualTo(2000);
+        assertThat(rateLimiter.tryConsume("user:1", rule)).isBetween(1L, 2000L);
+        assertThat(rateLimiter.tryConsume("user:1", rule)).isBetween(1L, 2000L);
+
+        verifyScriptRuns(1, "10");
+    }
+
+    @Test
+    void failsOpenWhenRedisIsUnavailable() {
+        whenScriptRuns().thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        assertThat(rateLimiter.tryConsume("user:1", rule)).isZero();
+        assertThat(rateLimiter.tryConsume("user:1", rule)).isZero();
+
+        // Nothing is cached from a failure, so the next request asks Redis again
+        verifyScriptRuns(2, "10");
+    }
+
+    private OngoingStubbing<List<Long>> whenScriptRuns() {
+        return when(redisTemplate.execute(
+                ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), any(), any(), any()));
+    }
+
+    private void verifyScriptRuns(int times, String requested) {
+        verify(redisTemplate, times(times)).execute(
+                ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), any(), any(), eq(requested));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.trangnx.saver.service;
+
+import com.trangnx.saver.entity.RefreshToken;
+import com.trangnx.saver.entity.User;
+import com.trangnx.saver.exception.InvalidTokenException;
+import com.trangnx.saver.repository.RefreshTokenRepository;
+import com.trangnx.saver.repository.UserRepository;
+import com.trangnx.saver.security.JwtService;
+import com.trangnx.saver.util.TokenHashHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final String FAMILY = "family-1";
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtService jwtService = mock(JwtService.class);
+    private final TokenBlacklistService tokenBlacklistService = mock(TokenBlacklistService.class);
+    private final RefreshTokenService refreshTokenService = new RefreshTokenService(
+            refreshTokenRepository, userRepository, jwtService, tokenBlacklistService, 10000);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+
+        when(jwtService.generateRefreshToken(anyString(), anyLong())).thenReturn("successor-token");
+        when(jwtService.getRefreshTokenExpiration()).thenReturn(604800000L);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            if (token.getId() == null) {
+                token.setId(100L);
+            }
+            return token;
+        });
+    }
+
+    @Test
+    void rotationIssuesSuccessorInSameFamily() {
+        RefreshToken current = storedToken("old-token", false, null);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("old-token");
+
+        assertThat(rotation.refreshToken()).isEqualTo("successor-token");
+        assertThat(rotation.user()).isSameAs(user);
+        assertThat(current.getRevoked()).isTrue();
+        assertThat(current.getReplacedById()).isEqualTo(100L);
+        assertThat(current.getRotatedAt()).isNotNull();
+        verify(refreshTokenRepository).save(argThat(token ->
+                token != current
+                        && token.getTokenHash().equals(TokenHashHelper.sha256Hex("successor-token"))
+                        && token.getFamilyId().equals(FAMILY)));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void reuseAfterGraceWindowRevokesFamily() {
+        storedToken("old-token", true, LocalDateTime.now().minusMinutes(1));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("old-token"))
+                .isInstanceOf(InvalidTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(FAMILY);
+        verify(jwtService, never()).generateRefreshToken(anyString(), anyLong());
+    }
+
+    @Test
+    void refreshWithinGraceWindowGetsAnotherSuccessor() {
+        RefreshToken current = storedToken("old-token", true, LocalDateTime.now().minusSeconds(2));
+        RefreshToken successor = RefreshToken.builder().id(11L).familyId(FAMILY).revoked(false).build();
+        when(refreshTokenRepository.findById(11L)).thenReturn(Optional.of(successor));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("old-token");
+
+        assertThat(rotation.refreshToken()).isEqualTo("successor-token");
+        // The original rotation stays the recorded one
+        assertThat(current.getReplacedById()).isEqualTo(11L);
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void refreshWithinGraceWindowAfterLogoutRevokesFamily() {
+        storedToken("old-token", true, LocalDateTime.now().minusSeconds(2));
+        RefreshToken successor = RefreshToken.builder().id(11L).familyId(FAMILY).revoked(true).build();
+        when(refreshTokenRepository.findById(11L)).thenReturn(Optional.of(successor));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("old-token"))
+                .isInstanceOf(InvalidTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(FAMILY);
+    }
+
+    @Test
+    void legacyTokenWithoutJtiIsMigrated() {
+        String hash = TokenHashHelper.sha256Hex("legacy-token");
+        RefreshToken migrated = RefreshToken.builder()
+                .id(20L)
+                .user(user)
+                .tokenHash(hash)
+                .familyId(FAMILY)
+                .expiresAt(LocalDateTime.now().plusDays(3))
+                .revoked(false)
+                .build();
+        when(refreshTokenRepository.findByTokenHashForUpdate(hash))
+                .thenReturn(Optional.empty(), Optional.of(migrated));
+        when(jwtService.isRefreshToken("legacy-token")).thenReturn(true);
+        when(jwtService.extractTokenId("legacy-token")).thenReturn(null);
+        when(jwtService.extractUserId("legacy-token")).thenReturn(1L);
+        when(jwtService.extractExpiration("legacy-token")).thenReturn(new Date(System.currentTimeMillis() + 86400000L));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(refreshTokenRepository.insertIfAbsent(eq(1L), eq(hash), anyString(), any(), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("legacy-token");
+
+        assertThat(rotation.refreshToken()).isEqualTo("successor-token");
+        assertThat(migrated.getRevoked()).isTrue();
+        verify(refreshTokenRepository).insertIfAbsent(eq(1L), eq(hash), anyString(), any(), any());
+    }
+
+    @Test
+    void unknownTokenWithJtiIsRejected() {
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString())).thenReturn(Optional.empty());
+        when(jwtService.isRefreshToken("forged-token")).thenReturn(true);
+        when(jwtService.extractTokenId("forged-token")).thenReturn("some-jti");
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("forged-token"))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Unknown refresh token");
+
+        verify(refreshTokenRepository, never()).insertIfAbsent(any(), any(), any(), any(), any());
+    }
+
+    private RefreshToken storedToken(String token, boolean revoked, LocalDateTime rotatedAt) {
+        RefreshToken stored = RefreshToken.builder()
+                .id(10L)
+                .user(user)
+                .tokenHash(TokenHashHelper.sha256Hex(token))
+                .familyId(FAMILY)
+                .replacedById(revoked ? 11L : null)
+                .rotatedAt(rotatedAt)
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .revoked(revoked)
+                .build();
+        when(refreshTokenRepository.findByTokenHashForUpdate(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        return stored;
+    }
+}
\ No newline at end of file
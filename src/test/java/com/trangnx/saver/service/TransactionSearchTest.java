@@ -0,0 +1,65 @@
+package com.trangnx.saver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionSearchTest {
+
+    @Test
+    void buildsPrefixQueryFromWords() {
+        assertThat(TransactionService.toPrefixTsQuery("Grab coffee!")).isEqualTo("grab:* & coffee:*");
+        assertThat(TransactionService.toPrefixTsQuery("  cà phê 2024 ")).isEqualTo("cà:* & phê:* & 2024:*");
+    }
+
+    @Test
+    void stripsTsQueryOperators() {
+        assertThat(TransactionService.toPrefixTsQuery("a & !b | (c:*) <-> 'd'"))
+                .isEqualTo("a:* & b:* & c:* & d:*");
+    }
+
+    @Test
+    void emptyInputHasNoQuery() {
+        assertThat(TransactionService.toPrefixTsQuery(null)).isNull();
+        assertThat(TransactionService.toPrefixTsQuery("")).isNull();
+        assertThat(TransactionService.toPrefixTsQuery(" &!:* ")).isNull();
+    }
+
+    @Test
+    void limitsNumberOfTerms() {
+        assertThat(TransactionService.toPrefixTsQuery("a b c d e f g h i j").split(" & ")).hasSize(8);
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        String cursor = TransactionService.encodeSearchCursor(0.0607927f, 12345L);
+
+        TransactionService.SearchCursor decoded = TransactionService.decodeSearchCursor(cursor);
+        assertThat(decoded.rank()).isEqualTo(0.0607927f);
+        assertThat(decoded.id()).isEqualTo(12345L);
+        assertThat(cursor).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void rejectsInvalidCursors() {
+        assertInvalid("not base64 at all!");
+        assertInvalid(encode("0.5"));
+        assertInvalid(encode("0.5:12:3"));
+        assertInvalid(encode("high:12"));
+        assertInvalid(encode("0.5:twelve"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> TransactionService.decodeSearchCursor(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid search cursor");
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file